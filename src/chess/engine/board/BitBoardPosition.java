@@ -0,0 +1,193 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+
+import java.util.Arrays;
+
+import chess.engine.PlayerColor;
+import chess.engine.pieces.PieceType;
+
+public abstract class BitBoardPosition {
+	
+	public static final int NO_PIECE = -1;
+	public static final int NO_SQUARE = -1;
+	
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+	public static final int NO_CASTLING = 0;
+	
+	public static final int WHITE_KING_SQUARE = 60;
+	public static final int BLACK_KING_SQUARE = 4;
+	public static final int CASTLING_RIGHTS_MASKS[] = initializeCastlingRightsMasks();
+	
+	protected final long[] pieceBitBoards = new long[PIECE_CODES];
+	protected final long[] colorBitBoards = new long[COLORS.length];
+	protected long occupiedBitBoard;
+	protected final int[] pieceCodes = new int[BOARD_SQUARES];
+	
+	protected BitBoardPosition() {
+		Arrays.fill(this.pieceCodes, NO_PIECE);
+	}
+	
+	protected void placePiece(final int pieceCode, final int square) {
+		final long bit = squareBit(square);
+		this.pieceBitBoards[pieceCode] |= bit;
+		this.colorBitBoards[pieceCode / PIECE_TYPES.length] |= bit;
+		this.occupiedBitBoard |= bit;
+		this.pieceCodes[square] = pieceCode;
+	}
+	
+	protected void removePiece(final int square) {
+		final int pieceCode = this.pieceCodes[square];
+		final long bit = squareBit(square);
+		this.pieceBitBoards[pieceCode] &= ~bit;
+		this.colorBitBoards[pieceCode / PIECE_TYPES.length] &= ~bit;
+		this.occupiedBitBoard &= ~bit;
+		this.pieceCodes[square] = NO_PIECE;
+	}
+	
+	public long getPieceBitBoard(final PlayerColor color, final PieceType type) {
+		return this.pieceBitBoards[pieceCode(color, type)];
+	}
+	
+	public long getColorBitBoard(final PlayerColor color) {
+		return this.colorBitBoards[color.ordinal()];
+	}
+	
+	public long getOccupiedBitBoard() {
+		return this.occupiedBitBoard;
+	}
+	
+	public int getPieceCode(final int square) {
+		return this.pieceCodes[square];
+	}
+	
+	public boolean isOccupied(final int square) {
+		return isSet(this.occupiedBitBoard, square);
+	}
+	
+	public boolean isInCheck(final PlayerColor color) {
+		return isAttackedBy(kingSquare(color.ordinal()), color.ordinal() ^ 1);
+	}
+	
+	public long getAttackedSquares(final PlayerColor color) {
+		return computeAttackedSquares(color.ordinal());
+	}
+	
+	public boolean isSquareAttacked(final int square, final PlayerColor color) {
+		return isSet(getAttackedSquares(color), square);
+	}
+	
+	public boolean givesCheck(final int move) {
+		final int us = getColorToMove().ordinal();
+		final int theirKing = kingSquare(us ^ 1);
+		final int from = CompactMove.from(move);
+		final int to = CompactMove.to(move);
+		final int kind = CompactMove.kind(move);
+		final int base = us * PIECE_TYPES.length;
+		final long fromBit = squareBit(from);
+		final long toBit = squareBit(to);
+		final int placedType = CompactMove.isPromotion(move) ? CompactMove.promotion(move).ordinal() : this.pieceCodes[from] - base;
+		long occupied = (this.occupiedBitBoard & ~fromBit) | toBit;
+		final long queens = this.pieceBitBoards[base + PieceType.QUEEN.ordinal()] & ~fromBit;
+		long diagonals = (this.pieceBitBoards[base + PieceType.BISHOP.ordinal()] & ~fromBit) | queens;
+		long orthogonals = (this.pieceBitBoards[base + PieceType.ROOK.ordinal()] & ~fromBit) | queens;
+		if (placedType == PieceType.PAWN.ordinal()) {
+			if (isSet(LeaperAttacks.PAWN_ATTACKS[us][to], theirKing)) {
+				return true;
+			}
+			if (kind == CompactMove.EN_PASSANT) {
+				occupied &= ~squareBit(enPassantVictimSquare(to, us));
+			}
+		} else if (placedType == PieceType.KNIGHT.ordinal()) {
+			if (isSet(LeaperAttacks.KNIGHT_ATTACKS[to], theirKing)) {
+				return true;
+			}
+		} else if (placedType == PieceType.BISHOP.ordinal()) {
+			diagonals |= toBit;
+		} else if (placedType == PieceType.ROOK.ordinal()) {
+			orthogonals |= toBit;
+		} else if (placedType == PieceType.QUEEN.ordinal()) {
+			diagonals |= toBit;
+			orthogonals |= toBit;
+		} else if (CompactMove.isCastling(move)) {
+			// only the rook can check after castling, from the square the king passed over
+			final int rookFrom = kind == CompactMove.KINGSIDE_CASTLE ? to + 1 : to - 2;
+			final int rookTo = kind == CompactMove.KINGSIDE_CASTLE ? to - 1 : to + 1;
+			occupied = (occupied & ~squareBit(rookFrom)) | squareBit(rookTo);
+			orthogonals = (orthogonals & ~squareBit(rookFrom)) | squareBit(rookTo);
+		}
+		return (MagicBitBoards.bishopAttacks(theirKing, occupied) & diagonals) != EMPTY_BITBOARD ||
+			   (MagicBitBoards.rookAttacks(theirKing, occupied) & orthogonals) != EMPTY_BITBOARD;
+	}
+	
+	public abstract PlayerColor getColorToMove();
+	public abstract int getCastlingRights();
+	public abstract int getEnPassantSquare();
+	
+	protected int kingSquare(final int color) {
+		return lowestSquare(this.pieceBitBoards[color * PIECE_TYPES.length + PieceType.KING.ordinal()]);
+	}
+	
+	protected boolean isAttackedBy(final int square, final int color) {
+		final int base = color * PIECE_TYPES.length;
+		final long queens = this.pieceBitBoards[base + PieceType.QUEEN.ordinal()];
+		return (LeaperAttacks.PAWN_ATTACKS[color ^ 1][square] & this.pieceBitBoards[base + PieceType.PAWN.ordinal()]) != EMPTY_BITBOARD ||
+			   (LeaperAttacks.KNIGHT_ATTACKS[square] & this.pieceBitBoards[base + PieceType.KNIGHT.ordinal()]) != EMPTY_BITBOARD ||
+			   (LeaperAttacks.KING_ATTACKS[square] & this.pieceBitBoards[base + PieceType.KING.ordinal()]) != EMPTY_BITBOARD ||
+			   (MagicBitBoards.bishopAttacks(square, this.occupiedBitBoard) & (this.pieceBitBoards[base + PieceType.BISHOP.ordinal()] | queens)) != EMPTY_BITBOARD ||
+			   (MagicBitBoards.rookAttacks(square, this.occupiedBitBoard) & (this.pieceBitBoards[base + PieceType.ROOK.ordinal()] | queens)) != EMPTY_BITBOARD;
+	}
+	
+	protected long computeAttackedSquares(final int color) {
+		final int base = color * PIECE_TYPES.length;
+		long attacks = EMPTY_BITBOARD;
+		for (long pawns = this.pieceBitBoards[base + PieceType.PAWN.ordinal()]; pawns != EMPTY_BITBOARD; pawns = clearLowest(pawns)) {
+			attacks |= LeaperAttacks.PAWN_ATTACKS[color][lowestSquare(pawns)];
+		}
+		for (long knights = this.pieceBitBoards[base + PieceType.KNIGHT.ordinal()]; knights != EMPTY_BITBOARD; knights = clearLowest(knights)) {
+			attacks |= LeaperAttacks.KNIGHT_ATTACKS[lowestSquare(knights)];
+		}
+		final long queens = this.pieceBitBoards[base + PieceType.QUEEN.ordinal()];
+		for (long bishops = this.pieceBitBoards[base + PieceType.BISHOP.ordinal()] | queens; bishops != EMPTY_BITBOARD; bishops = clearLowest(bishops)) {
+			attacks |= MagicBitBoards.bishopAttacks(lowestSquare(bishops), this.occupiedBitBoard);
+		}
+		for (long rooks = this.pieceBitBoards[base + PieceType.ROOK.ordinal()] | queens; rooks != EMPTY_BITBOARD; rooks = clearLowest(rooks)) {
+			attacks |= MagicBitBoards.rookAttacks(lowestSquare(rooks), this.occupiedBitBoard);
+		}
+		for (long kings = this.pieceBitBoards[base + PieceType.KING.ordinal()]; kings != EMPTY_BITBOARD; kings = clearLowest(kings)) {
+			attacks |= LeaperAttacks.KING_ATTACKS[lowestSquare(kings)];
+		}
+		return attacks;
+	}
+	
+	protected long attackersOf(final int square, final int color, final long occupied) {
+		final int base = color * PIECE_TYPES.length;
+		final long queens = this.pieceBitBoards[base + PieceType.QUEEN.ordinal()];
+		return (LeaperAttacks.PAWN_ATTACKS[color ^ 1][square] & this.pieceBitBoards[base + PieceType.PAWN.ordinal()]) |
+			   (LeaperAttacks.KNIGHT_ATTACKS[square] & this.pieceBitBoards[base + PieceType.KNIGHT.ordinal()]) |
+			   (LeaperAttacks.KING_ATTACKS[square] & this.pieceBitBoards[base + PieceType.KING.ordinal()]) |
+			   (MagicBitBoards.bishopAttacks(square, occupied) & (this.pieceBitBoards[base + PieceType.BISHOP.ordinal()] | queens)) |
+			   (MagicBitBoards.rookAttacks(square, occupied) & (this.pieceBitBoards[base + PieceType.ROOK.ordinal()] | queens));
+	}
+	
+	protected static int enPassantVictimSquare(final int to, final int us) {
+		return to - COLORS[us].getDirection() * BOARD_FILES;
+	}
+	
+	private static int[] initializeCastlingRightsMasks() {
+		final int[] result = new int[BOARD_SQUARES];
+		Arrays.fill(result, WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		result[WHITE_KING_SQUARE] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+		result[WHITE_KING_SQUARE + 3] &= ~WHITE_KINGSIDE;
+		result[WHITE_KING_SQUARE - 4] &= ~WHITE_QUEENSIDE;
+		result[BLACK_KING_SQUARE] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		result[BLACK_KING_SQUARE + 3] &= ~BLACK_KINGSIDE;
+		result[BLACK_KING_SQUARE - 4] &= ~BLACK_QUEENSIDE;
+		return result;
+	}
+
+}
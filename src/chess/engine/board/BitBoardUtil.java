@@ -0,0 +1,76 @@
+package chess.engine.board;
+
+import static chess.engine.board.BoardUtil.*;
+
+import chess.engine.PlayerColor;
+import chess.engine.pieces.PieceType;
+
+public class BitBoardUtil {
+	
+	public static final long EMPTY_BITBOARD = 0L;
+	public static final PlayerColor[] COLORS = PlayerColor.values();
+	public static final PieceType[] PIECE_TYPES = PieceType.values();
+	public static final int PIECE_CODES = COLORS.length * PIECE_TYPES.length;
+	public static final long FILE_MASKS[] = initializeFileMasks();
+	public static final long RANK_MASKS[] = initializeRankMasks();
+	
+	private BitBoardUtil() {
+		throw new RuntimeException("do not instantiate the BitBoardUtil class");
+	}
+	
+	public static long squareBit(final int square) {
+		return 1L << square;
+	}
+	
+	public static boolean isSet(final long bitBoard, final int square) {
+		return (bitBoard & squareBit(square)) != 0;
+	}
+	
+	public static int lowestSquare(final long bitBoard) {
+		return Long.numberOfTrailingZeros(bitBoard);
+	}
+	
+	public static long clearLowest(final long bitBoard) {
+		return bitBoard & (bitBoard - 1);
+	}
+	
+	public static int pieceCode(final PlayerColor color, final PieceType type) {
+		return color.ordinal() * PIECE_TYPES.length + type.ordinal();
+	}
+	
+	public static PlayerColor colorOf(final int pieceCode) {
+		return COLORS[pieceCode / PIECE_TYPES.length];
+	}
+	
+	public static PieceType typeOf(final int pieceCode) {
+		return PIECE_TYPES[pieceCode % PIECE_TYPES.length];
+	}
+	
+	public static String toString(final long bitBoard) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			sb.append(isSet(bitBoard, i) ? "[X]" : "[ ]");
+			if ((i + 1) % BOARD_FILES == 0) {
+				sb.append("\n");
+			}
+		}
+		return sb.toString();
+	}
+	
+	private static long[] initializeFileMasks() {
+		final long[] result = new long[BOARD_FILES];
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			result[fileOf(i)] |= squareBit(i);
+		}
+		return result;
+	}
+	
+	private static long[] initializeRankMasks() {
+		final long[] result = new long[BOARD_RANKS];
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			result[rankOf(i)] |= squareBit(i);
+		}
+		return result;
+	}
+
+}
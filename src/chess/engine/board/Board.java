@@ -4,47 +4,76 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import chess.engine.PlayerColor;
 import chess.engine.pieces.*;
 import chess.engine.player.Player;
 import chess.engine.player.Player.*;
+import static chess.engine.board.BitBoardUtil.*;
 import static chess.engine.board.BoardUtil.*;
 
-public class Board {
-	
-	private final List<Tile> gameBoard;
-	private final Collection<Piece> whitePieces;
-	private final Collection<Piece> blackPieces;
-	private final Collection<Move> whiteLegalMoves;
-	private final Collection<Move> blackLegalMoves;
-	private final WhitePlayer whitePlayer;
-	private final BlackPlayer blackPlayer;
-	private final Player currentPlayer;
+public class Board extends BitBoardPosition {
+	
+	private final Piece[] boardPieces;
+	private final PlayerColor toMove;
 	private final Pawn enPassantPawn;
 	private final int enPassantRange;
+	private final int castlingRights;
+	private final int enPassantSquare;
+	private final long zobristKey;
+	private volatile Collection<Piece> whitePieces;
+	private volatile Collection<Piece> blackPieces;
+	private volatile Collection<Move> whitePieceMoves;
+	private volatile Collection<Move> blackPieceMoves;
+	private volatile WhitePlayer whitePlayer;
+	private volatile BlackPlayer blackPlayer;
+	private volatile long[] attackedSquares;
+	private volatile MoveIndex moveIndex;
 	
 	private Board(final Builder b) {
-		this.gameBoard = createBoard(b);
-		this.whitePieces = getColoredPieces(PlayerColor.WHITE);
-		this.blackPieces = getColoredPieces(PlayerColor.BLACK);
+		this.boardPieces = createBoard(b);
+		this.toMove = b.toMove;
 		this.enPassantPawn = b.enPassantPawn;
 		this.enPassantRange = b.enPassantRange;
-		this.whiteLegalMoves = getLegalMoves(this.whitePieces);
-		this.blackLegalMoves = getLegalMoves(this.blackPieces);
-		this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-		this.blackPlayer = new BlackPlayer(this, blackLegalMoves, whiteLegalMoves);
-		this.currentPlayer = b.toMove == PlayerColor.WHITE ? this.whitePlayer : this.blackPlayer;
+		this.castlingRights = createCastlingRights();
+		this.enPassantSquare = createEnPassantSquare();
+		this.zobristKey = b.zobristKey != null ? b.zobristKey :
+						  Zobrist.computeKey(this, this.toMove, this.castlingRights, this.enPassantSquare);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.zobristKey);
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Board other = (Board) obj;
+		if (zobristKey != other.zobristKey)
+			return false;
+		if (toMove != other.toMove)
+			return false;
+		if (castlingRights != other.castlingRights)
+			return false;
+		if (enPassantSquare != other.enPassantSquare)
+			return false;
+		if (!Arrays.equals(pieceCodes, other.pieceCodes))
+			return false;
+		return true;
 	}
 	
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
 		for (int i = 0; i < BoardUtil.BOARD_SQUARES; i++) {
-			sb.append(gameBoard.get(i).toString());
+			sb.append(getTile(i).toString());
 			if ((i + 1) % BoardUtil.BOARD_FILES == 0) {
 				sb.append("\n");
 			}
@@ -53,27 +82,94 @@ public class Board {
 	}
 	
 	public Collection<Piece> getBlackPieces() {
-		return blackPieces;
+		Collection<Piece> result = this.blackPieces;
+		if (result == null) {
+			synchronized (this) {
+				result = this.blackPieces;
+				if (result == null) {
+					result = getColoredPieces(PlayerColor.BLACK);
+					this.blackPieces = result;
+				}
+			}
+		}
+		return result;
 	}
 
 	public Collection<Piece> getWhitePieces() {
-		return whitePieces;
+		Collection<Piece> result = this.whitePieces;
+		if (result == null) {
+			synchronized (this) {
+				result = this.whitePieces;
+				if (result == null) {
+					result = getColoredPieces(PlayerColor.WHITE);
+					this.whitePieces = result;
+				}
+			}
+		}
+		return result;
 	}
 	
 	public Player getWhitePlayer() {
-		return this.whitePlayer;
+		WhitePlayer result = this.whitePlayer;
+		if (result == null) {
+			synchronized (this) {
+				result = this.whitePlayer;
+				if (result == null) {
+					result = new WhitePlayer(this);
+					this.whitePlayer = result;
+				}
+			}
+		}
+		return result;
 	}
 	
 	public Player getBlackPlayer() {
-		return this.blackPlayer;
+		BlackPlayer result = this.blackPlayer;
+		if (result == null) {
+			synchronized (this) {
+				result = this.blackPlayer;
+				if (result == null) {
+					result = new BlackPlayer(this);
+					this.blackPlayer = result;
+				}
+			}
+		}
+		return result;
+	}
+	
+	@Override
+	public long getAttackedSquares(final PlayerColor color) {
+		long[] result = this.attackedSquares;
+		if (result == null) {
+			synchronized (this) {
+				result = this.attackedSquares;
+				if (result == null) {
+					result = new long[COLORS.length];
+					for (final PlayerColor c : COLORS) {
+						result[c.ordinal()] = computeAttackedSquares(c.ordinal());
+					}
+					this.attackedSquares = result;
+				}
+			}
+		}
+		return result[color.ordinal()];
 	}
 	
 	public Player getCurrentPlayer() {
-		return this.currentPlayer;
+		return this.toMove == PlayerColor.WHITE ? getWhitePlayer() : getBlackPlayer();
+	}
+	
+	@Override
+	public PlayerColor getColorToMove() {
+		return this.toMove;
 	}
 
 	public Tile getTile(int coordinate) {
-		return gameBoard.get(coordinate);
+		return Tile.createTile(coordinate, this.boardPieces[coordinate]);
+	}
+	
+	public Piece getPiece(int coordinate) {
+		return this.boardPieces[coordinate];
 	}
 	
 	public Pawn getEnPassantPawn() {
@@ -83,23 +179,67 @@ public class Board {
 	public int getEnPassantRange() {
 		return enPassantRange;
 	}
+	
+	@Override
+	public int getCastlingRights() {
+		return this.castlingRights;
+	}
+	
+	@Override
+	public int getEnPassantSquare() {
+		return this.enPassantSquare;
+	}
+	
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
 
-	private static List<Tile> createBoard(final Builder b) {
-		final Tile[] tiles = new Tile[BOARD_SQUARES];
+	private Piece[] createBoard(final Builder b) {
+		final Piece[] pieces = b.boardConfig.clone();
 		for (int i = 0; i < BOARD_SQUARES; i++) {
-			tiles[i] = Tile.createTile(i, b.boardConfig.get(i));	
+			if (pieces[i] != null) {
+				placePiece(pieceCode(pieces[i].getPieceColor(), pieces[i].getPieceType()), i);
+			}
 		}
-		return Collections.unmodifiableList(Arrays.asList(tiles));
+		return pieces;
+	}
+	
+	private int createCastlingRights() {
+		int rights = NO_CASTLING;
+		if (canCastle(WHITE_KING_SQUARE, WHITE_KING_SQUARE + 3)) {
+			rights |= WHITE_KINGSIDE;
+		}
+		if (canCastle(WHITE_KING_SQUARE, WHITE_KING_SQUARE - 4)) {
+			rights |= WHITE_QUEENSIDE;
+		}
+		if (canCastle(BLACK_KING_SQUARE, BLACK_KING_SQUARE + 3)) {
+			rights |= BLACK_KINGSIDE;
+		}
+		if (canCastle(BLACK_KING_SQUARE, BLACK_KING_SQUARE - 4)) {
+			rights |= BLACK_QUEENSIDE;
+		}
+		return rights;
+	}
+	
+	private boolean canCastle(final int kingSquare, final int rookSquare) {
+		final Piece king = this.boardPieces[kingSquare];
+		final Piece rook = this.boardPieces[rookSquare];
+		return king != null && king.getPieceType() == PieceType.KING && king.isFirstMove() &&
+			   rook != null && rook.getPieceType() == PieceType.ROOK && rook.isFirstMove() &&
+			   rook.getPieceColor() == king.getPieceColor();
+	}
+	
+	private int createEnPassantSquare() {
+		if (this.enPassantPawn == null || this.enPassantPawn.getPieceColor() == this.toMove) {
+			return NO_SQUARE;
+		}
+		return this.enPassantPawn.getCoordinate() - this.enPassantPawn.getPieceColor().getDirection() * BOARD_FILES;
 	}
 	
 	private Collection<Piece> getColoredPieces(PlayerColor c) {
-		final List<Piece> coloredPieces = new ArrayList<>();
-		for (final Tile tile : gameBoard) {
-			if (tile.isOccupied()) {
-				if (tile.getPiece().getPieceColor() == c) {
-					coloredPieces.add(tile.getPiece());
-				}
-			}
+		final List<Piece> coloredPieces = new ArrayList<>(Long.bitCount(getColorBitBoard(c)));
+		for (long bits = getColorBitBoard(c); bits != EMPTY_BITBOARD; bits = clearLowest(bits)) {
+			coloredPieces.add(this.boardPieces[lowestSquare(bits)]);
 		}
 		return Collections.unmodifiableList(coloredPieces);
 	}
@@ -109,53 +249,95 @@ public class Board {
 		for (final Piece piece : p) {
 			legalMoves.addAll(piece.getLegalMoves(this));
 		}
-		return legalMoves;
+		return Collections.unmodifiableList(legalMoves);
+	}
+	
+	public Collection<Move> getPieceMoves(final PlayerColor color) {
+		if (color == PlayerColor.WHITE) {
+			Collection<Move> result = this.whitePieceMoves;
+			if (result == null) {
+				synchronized (this) {
+					result = this.whitePieceMoves;
+					if (result == null) {
+						result = getLegalMoves(getWhitePieces());
+						this.whitePieceMoves = result;
+					}
+				}
+			}
+			return result;
+		}
+		Collection<Move> result = this.blackPieceMoves;
+		if (result == null) {
+			synchronized (this) {
+				result = this.blackPieceMoves;
+				if (result == null) {
+					result = getLegalMoves(getBlackPieces());
+					this.blackPieceMoves = result;
+				}
+			}
+		}
+		return result;
 	}
 	
 	public Collection<Move> getAllLegalMoves() {
 		List<Move> moves = new ArrayList<>();
-		moves.addAll(whiteLegalMoves);
-		moves.addAll(blackLegalMoves);
+		moves.addAll(getWhitePlayer().getLegalMoves());
+		moves.addAll(getBlackPlayer().getLegalMoves());
 		return Collections.unmodifiableList(moves);
 	}
 	
+	public MoveIndex getMoveIndex() {
+		MoveIndex result = this.moveIndex;
+		if (result == null) {
+			synchronized (this) {
+				result = this.moveIndex;
+				if (result == null) {
+					result = new MoveIndex(getAllLegalMoves());
+					this.moveIndex = result;
+				}
+			}
+		}
+		return result;
+	}
+	
 	public static Board createStartingPosition() {
 		final Builder boardBuilder = new Builder();
-		boardBuilder.setPiece(new Rook  (PlayerColor.BLACK, 0));
-		boardBuilder.setPiece(new Knight(PlayerColor.BLACK, 1));
-		boardBuilder.setPiece(new Bishop(PlayerColor.BLACK, 2));
-		boardBuilder.setPiece(new Queen (PlayerColor.BLACK, 3));
-		boardBuilder.setPiece(new King  (PlayerColor.BLACK, 4));
-		boardBuilder.setPiece(new Bishop(PlayerColor.BLACK, 5));
-		boardBuilder.setPiece(new Knight(PlayerColor.BLACK, 6));
-		boardBuilder.setPiece(new Rook  (PlayerColor.BLACK, 7));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.ROOK, PlayerColor.BLACK, 0, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KNIGHT, PlayerColor.BLACK, 1, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.BISHOP, PlayerColor.BLACK, 2, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.QUEEN, PlayerColor.BLACK, 3, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KING, PlayerColor.BLACK, 4, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.BISHOP, PlayerColor.BLACK, 5, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KNIGHT, PlayerColor.BLACK, 6, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.ROOK, PlayerColor.BLACK, 7, true));
 		for (int i = 8; i < 16; i++) {
-			boardBuilder.setPiece(new Pawn(PlayerColor.BLACK, i));
-			boardBuilder.setPiece(new Pawn(PlayerColor.WHITE, i + 40));
-		}
-		boardBuilder.setPiece(new Rook  (PlayerColor.WHITE, 56));
-		boardBuilder.setPiece(new Knight(PlayerColor.WHITE, 57));
-		boardBuilder.setPiece(new Bishop(PlayerColor.WHITE, 58));
-		boardBuilder.setPiece(new Queen (PlayerColor.WHITE, 59));
-		boardBuilder.setPiece(new King  (PlayerColor.WHITE, 60));
-		boardBuilder.setPiece(new Bishop(PlayerColor.WHITE, 61));
-		boardBuilder.setPiece(new Knight(PlayerColor.WHITE, 62));
-		boardBuilder.setPiece(new Rook  (PlayerColor.WHITE, 63));
+			boardBuilder.setPiece(Piece.createPiece(PieceType.PAWN, PlayerColor.BLACK, i, true));
+			boardBuilder.setPiece(Piece.createPiece(PieceType.PAWN, PlayerColor.WHITE, i + 40, true));
+		}
+		boardBuilder.setPiece(Piece.createPiece(PieceType.ROOK, PlayerColor.WHITE, 56, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KNIGHT, PlayerColor.WHITE, 57, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.BISHOP, PlayerColor.WHITE, 58, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.QUEEN, PlayerColor.WHITE, 59, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KING, PlayerColor.WHITE, 60, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.BISHOP, PlayerColor.WHITE, 61, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.KNIGHT, PlayerColor.WHITE, 62, true));
+		boardBuilder.setPiece(Piece.createPiece(PieceType.ROOK, PlayerColor.WHITE, 63, true));
 		boardBuilder.setToMove(PlayerColor.WHITE);		
 		return boardBuilder.build();
 	}
 	
 	public static class Builder {
 		
-		Map<Integer, Piece> boardConfig = new HashMap<>();
+		Piece[] boardConfig = new Piece[BOARD_SQUARES];
 		PlayerColor toMove;
 		Pawn enPassantPawn;
 		int enPassantRange;
+		Long zobristKey;
 		
 		public Builder() {}
 		
 		public Builder setPiece(final Piece piece) {
-			this.boardConfig.put(piece.getCoordinate(), piece);
+			this.boardConfig[piece.getCoordinate()] = piece;
 			return this;
 		}
 		
@@ -174,6 +356,11 @@ public class Board {
 			return this;
 		}
 		
+		Builder setZobristKey(final long key) {
+			this.zobristKey = key;
+			return this;
+		}
+		
 		public Board build() {
 			return new Board(this);
 		}
@@ -0,0 +1,114 @@
+package chess.engine.board;
+
+import chess.engine.board.Move.*;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
+
+public class CompactMove {
+
+	public static final int NULL_MOVE = 0;
+
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PAWN_PUSH = 1;
+	public static final int KINGSIDE_CASTLE = 2;
+	public static final int QUEENSIDE_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 6;
+	public static final int PROMOTION_CAPTURE = 7;
+
+	// from (6 bits) | to (6) | kind (3) | promotion type (3) | captured type (3, NO_TYPE when nothing is captured)
+	private static final int SQUARE_MASK = 0x3F;
+	private static final int KIND_MASK = 0x7;
+	private static final int TYPE_MASK = 0x7;
+	private static final int TO_SHIFT = 6;
+	private static final int KIND_SHIFT = 12;
+	private static final int PROMOTION_SHIFT = 15;
+	private static final int CAPTURED_SHIFT = 18;
+	private static final int NO_TYPE = TYPE_MASK;
+
+	private CompactMove() {
+		throw new RuntimeException("do not instantiate the CompactMove class");
+	}
+
+	public static int create(final int from, final int to, final int kind) {
+		return from | (to << TO_SHIFT) | (kind << KIND_SHIFT) | (NO_TYPE << CAPTURED_SHIFT);
+	}
+
+	public static int create(final int from, final int to, final int kind, final PieceType promotion) {
+		return create(from, to, kind) | (promotion.ordinal() << PROMOTION_SHIFT);
+	}
+
+	public static int withCaptured(final int move, final PieceType captured) {
+		return (move & ~(TYPE_MASK << CAPTURED_SHIFT)) | (captured.ordinal() << CAPTURED_SHIFT);
+	}
+
+	public static int from(final int move) {
+		return move & SQUARE_MASK;
+	}
+
+	public static int to(final int move) {
+		return (move >>> TO_SHIFT) & SQUARE_MASK;
+	}
+
+	public static int kind(final int move) {
+		return (move >>> KIND_SHIFT) & KIND_MASK;
+	}
+
+	public static PieceType promotion(final int move) {
+		return BitBoardUtil.PIECE_TYPES[(move >>> PROMOTION_SHIFT) & TYPE_MASK];
+	}
+
+	public static PieceType captured(final int move) {
+		final int type = (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+		return type == NO_TYPE ? null : BitBoardUtil.PIECE_TYPES[type];
+	}
+
+	public static boolean isCapture(final int move) {
+		final int kind = kind(move);
+		return kind == CAPTURE || kind == EN_PASSANT || kind == PROMOTION_CAPTURE;
+	}
+
+	public static boolean isPromotion(final int move) {
+		return kind(move) >= PROMOTION;
+	}
+
+	public static boolean isCastling(final int move) {
+		final int kind = kind(move);
+		return kind == KINGSIDE_CASTLE || kind == QUEENSIDE_CASTLE;
+	}
+
+	public static int of(final Move move) {
+		final int compactMove = encode(move);
+		final Piece capturedPiece = move.getCapturedPiece();
+		return capturedPiece == null ? compactMove : withCaptured(compactMove, capturedPiece.getPieceType());
+	}
+
+	private static int encode(final Move move) {
+		final int from = move.getCurrentCoordinate();
+		final int to = move.getDestinationCoordinate();
+		if (move instanceof PawnPromotion) {
+			final PieceType promotion = ((PawnPromotion) move).getPromotionPiece().getPieceType();
+			return create(from, to, move.isCapture() ? PROMOTION_CAPTURE : PROMOTION, promotion);
+		}
+		if (move instanceof KingsideCastlingMove) {
+			return create(from, to, KINGSIDE_CASTLE);
+		}
+		if (move instanceof QueensideCastlingMove) {
+			return create(from, to, QUEENSIDE_CASTLE);
+		}
+		if (move instanceof EnPassantCapture) {
+			return create(from, to, EN_PASSANT);
+		}
+		if (move instanceof DoublePawnMove) {
+			return create(from, to, DOUBLE_PAWN_PUSH);
+		}
+		return create(from, to, move.isCapture() ? CAPTURE : QUIET);
+	}
+
+	public static String toString(final int move) {
+		final String text = BoardUtil.getAlgebraicNotation(from(move)) + BoardUtil.getAlgebraicNotation(to(move));
+		return isPromotion(move) ? text + promotion(move).toString().toLowerCase() : text;
+	}
+
+}
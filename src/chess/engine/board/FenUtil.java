@@ -0,0 +1,84 @@
+package chess.engine.board;
+
+import static chess.engine.board.BoardUtil.*;
+
+import chess.engine.PlayerColor;
+import chess.engine.board.Board.Builder;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
+
+public class FenUtil {
+
+	public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private FenUtil() {
+		throw new RuntimeException("do not instantiate the FenUtil class");
+	}
+
+	public static Board createBoard(final String fen) {
+		final String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 4) {
+			throw new RuntimeException("FEN needs at least four fields: " + fen);
+		}
+		final String castling = fields[2];
+		final Builder builder = new Builder();
+		int square = 0;
+		for (final char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				continue;
+			}
+			if (Character.isDigit(c)) {
+				square += c - '0';
+				continue;
+			}
+			if (square >= BOARD_SQUARES) {
+				throw new RuntimeException("FEN has too many squares: " + fen);
+			}
+			builder.setPiece(createPiece(c, square, castling));
+			square++;
+		}
+		if (square != BOARD_SQUARES) {
+			throw new RuntimeException("FEN has too few squares: " + fen);
+		}
+		final PlayerColor toMove = fields[1].equals("w") ? PlayerColor.WHITE : PlayerColor.BLACK;
+		builder.setToMove(toMove);
+		if (!fields[3].equals("-")) {
+			// the pawn that just moved two squares sits one rank beyond the en passant square
+			final int enPassantSquare = positionOf(BOARD_RANKS - (fields[3].charAt(1) - '0'), fields[3].charAt(0) - 'a');
+			final Piece pawn = builder.boardConfig[enPassantSquare - toMove.getDirection() * BOARD_FILES];
+			if (pawn instanceof Pawn && pawn.getPieceColor() != toMove) {
+				builder.setEnPassantPawn((Pawn) pawn);
+				builder.setEnPassantRange(1);
+			}
+		}
+		return builder.build();
+	}
+
+	private static Piece createPiece(final char c, final int square, final String castling) {
+		final PlayerColor color = Character.isUpperCase(c) ? PlayerColor.WHITE : PlayerColor.BLACK;
+		final boolean isWhite = color == PlayerColor.WHITE;
+		switch (Character.toUpperCase(c)) {
+		case 'P':
+			return Piece.createPiece(PieceType.PAWN, color, square, rankOf(square) == (isWhite ? BOARD_RANKS - 2 : 1));
+		case 'N':
+			return Piece.createPiece(PieceType.KNIGHT, color, square, false);
+		case 'B':
+			return Piece.createPiece(PieceType.BISHOP, color, square, false);
+		case 'R':
+			final boolean kingsideRook = square == (isWhite ? 63 : 7) && castling.indexOf(isWhite ? 'K' : 'k') >= 0;
+			final boolean queensideRook = square == (isWhite ? 56 : 0) && castling.indexOf(isWhite ? 'Q' : 'q') >= 0;
+			return Piece.createPiece(PieceType.ROOK, color, square, kingsideRook || queensideRook);
+		case 'Q':
+			return Piece.createPiece(PieceType.QUEEN, color, square, false);
+		case 'K':
+			final int kingSquare = isWhite ? BitBoardPosition.WHITE_KING_SQUARE : BitBoardPosition.BLACK_KING_SQUARE;
+			final String rights = isWhite ? "KQ" : "kq";
+			final boolean canCastle = castling.indexOf(rights.charAt(0)) >= 0 || castling.indexOf(rights.charAt(1)) >= 0;
+			return Piece.createPiece(PieceType.KING, color, square, square == kingSquare && canCastle);
+		default:
+			throw new RuntimeException("unknown FEN piece: " + c);
+		}
+	}
+
+}
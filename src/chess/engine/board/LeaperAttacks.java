@@ -0,0 +1,68 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+
+import chess.engine.PlayerColor;
+
+public class LeaperAttacks {
+
+	private static final int KNIGHT_OFFSETS[][] = {{2, 1}, {1, 2}, {-2, 1}, {-1, 2}, {2, -1}, {1, -2}, {-2, -1}, {-1, -2}};
+	private static final int KING_OFFSETS[][] = {{1, 1}, {-1, 1}, {1, -1}, {-1, -1}, {1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+
+	public static final long KNIGHT_ATTACKS[] = initializeAttacks(KNIGHT_OFFSETS);
+	public static final long KING_ATTACKS[] = initializeAttacks(KING_OFFSETS);
+	public static final long PAWN_ATTACKS[][] = initializePawnTable(new int[][] {{1, 1}, {1, -1}}, false);
+	public static final long PAWN_PUSHES[][] = initializePawnTable(new int[][] {{1, 0}}, false);
+	public static final long PAWN_DOUBLE_PUSHES[][] = initializePawnTable(new int[][] {{2, 0}}, true);
+
+	private LeaperAttacks() {
+		throw new RuntimeException("do not instantiate the LeaperAttacks class");
+	}
+
+	public static long pawnAttacks(final PlayerColor color, final int square) {
+		return PAWN_ATTACKS[color.ordinal()][square];
+	}
+
+	public static long pawnPushes(final PlayerColor color, final int square) {
+		return PAWN_PUSHES[color.ordinal()][square];
+	}
+
+	public static long pawnDoublePushes(final PlayerColor color, final int square) {
+		return PAWN_DOUBLE_PUSHES[color.ordinal()][square];
+	}
+
+	private static long[] initializeAttacks(final int[][] offsets) {
+		final long[] result = new long[BOARD_SQUARES];
+		for (int square = 0; square < BOARD_SQUARES; square++) {
+			result[square] = targets(rankOf(square), fileOf(square), offsets, 1);
+		}
+		return result;
+	}
+
+	private static long[][] initializePawnTable(final int[][] offsets, final boolean startRankOnly) {
+		final long[][] result = new long[COLORS.length][BOARD_SQUARES];
+		for (final PlayerColor color : COLORS) {
+			final int startRank = color == PlayerColor.WHITE ? BOARD_RANKS - 2 : 1;
+			for (int square = 0; square < BOARD_SQUARES; square++) {
+				if (!startRankOnly || rankOf(square) == startRank) {
+					result[color.ordinal()][square] = targets(rankOf(square), fileOf(square), offsets, color.getDirection());
+				}
+			}
+		}
+		return result;
+	}
+
+	private static long targets(final int rank, final int file, final int[][] offsets, final int direction) {
+		long result = EMPTY_BITBOARD;
+		for (final int[] offset : offsets) {
+			final int targetRank = rank + offset[0] * direction;
+			final int targetFile = file + offset[1];
+			if (targetRank >= 0 && targetRank < BOARD_RANKS && targetFile >= 0 && targetFile < BOARD_FILES) {
+				result |= squareBit(positionOf(targetRank, targetFile));
+			}
+		}
+		return result;
+	}
+
+}
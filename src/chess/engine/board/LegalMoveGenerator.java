@@ -0,0 +1,204 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardPosition.*;
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+import static chess.engine.board.CompactMove.*;
+
+import chess.engine.PlayerColor;
+import chess.engine.pieces.PieceType;
+
+public class LegalMoveGenerator {
+
+	private static final int PAWN = PieceType.PAWN.ordinal();
+	private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+	private static final int BISHOP = PieceType.BISHOP.ordinal();
+	private static final int ROOK = PieceType.ROOK.ordinal();
+	private static final int QUEEN = PieceType.QUEEN.ordinal();
+	private static final int KING = PieceType.KING.ordinal();
+	private static final long ALL_SQUARES = ~EMPTY_BITBOARD;
+	private static final PieceType PROMOTION_TYPES[] = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+	// squares strictly between two aligned squares, and the whole line through them
+	private static final long BETWEEN[][] = new long[BOARD_SQUARES][BOARD_SQUARES];
+	private static final long LINE[][] = new long[BOARD_SQUARES][BOARD_SQUARES];
+
+	static {
+		for (int a = 0; a < BOARD_SQUARES; a++) {
+			for (int b = 0; b < BOARD_SQUARES; b++) {
+				if (a == b) {
+					continue;
+				}
+				if (isSet(MagicBitBoards.rookAttacks(a, EMPTY_BITBOARD), b)) {
+					BETWEEN[a][b] = MagicBitBoards.rookAttacks(a, squareBit(b)) & MagicBitBoards.rookAttacks(b, squareBit(a));
+					LINE[a][b] = (MagicBitBoards.rookAttacks(a, EMPTY_BITBOARD) & MagicBitBoards.rookAttacks(b, EMPTY_BITBOARD)) |
+								 squareBit(a) | squareBit(b);
+				} else if (isSet(MagicBitBoards.bishopAttacks(a, EMPTY_BITBOARD), b)) {
+					BETWEEN[a][b] = MagicBitBoards.bishopAttacks(a, squareBit(b)) & MagicBitBoards.bishopAttacks(b, squareBit(a));
+					LINE[a][b] = (MagicBitBoards.bishopAttacks(a, EMPTY_BITBOARD) & MagicBitBoards.bishopAttacks(b, EMPTY_BITBOARD)) |
+								 squareBit(a) | squareBit(b);
+				}
+			}
+		}
+	}
+
+	private LegalMoveGenerator() {
+		throw new RuntimeException("do not instantiate the LegalMoveGenerator class");
+	}
+
+	public static long between(final int from, final int to) {
+		return BETWEEN[from][to];
+	}
+
+	public static long line(final int from, final int to) {
+		return LINE[from][to];
+	}
+
+	public static long getPinnedPieces(final BitBoardPosition position, final PlayerColor color) {
+		final int us = color.ordinal();
+		final int base = (us ^ 1) * PIECE_TYPES.length;
+		final int kingSquare = position.kingSquare(us);
+		final long queens = position.pieceBitBoards[base + QUEEN];
+		final long snipers = (MagicBitBoards.rookAttacks(kingSquare, EMPTY_BITBOARD) & (position.pieceBitBoards[base + ROOK] | queens)) |
+							 (MagicBitBoards.bishopAttacks(kingSquare, EMPTY_BITBOARD) & (position.pieceBitBoards[base + BISHOP] | queens));
+		long pinned = EMPTY_BITBOARD;
+		for (long bits = snipers; bits != EMPTY_BITBOARD; bits = clearLowest(bits)) {
+			final long blockers = BETWEEN[kingSquare][lowestSquare(bits)] & position.occupiedBitBoard;
+			if (Long.bitCount(blockers) == 1) {
+				pinned |= blockers & position.colorBitBoards[us];
+			}
+		}
+		return pinned;
+	}
+
+	public static long getCheckers(final BitBoardPosition position, final PlayerColor color) {
+		final int us = color.ordinal();
+		return position.attackersOf(position.kingSquare(us), us ^ 1, position.occupiedBitBoard);
+	}
+
+	public static void generateMoves(final BitBoardPosition position, final PlayerColor color, final MoveList moves) {
+		moves.clear();
+		final int us = color.ordinal();
+		final int them = us ^ 1;
+		final int base = us * PIECE_TYPES.length;
+		final int kingSquare = position.kingSquare(us);
+		final long own = position.colorBitBoards[us];
+		final long enemy = position.colorBitBoards[them];
+		final long occupied = position.occupiedBitBoard;
+		final long checkers = getCheckers(position, color);
+		final long withoutKing = occupied & ~squareBit(kingSquare);
+		for (long targets = LeaperAttacks.KING_ATTACKS[kingSquare] & ~own; targets != EMPTY_BITBOARD; targets = clearLowest(targets)) {
+			final int to = lowestSquare(targets);
+			if (position.attackersOf(to, them, withoutKing) == EMPTY_BITBOARD) {
+				addMove(position, moves, kingSquare, to, enemy);
+			}
+		}
+		if (Long.bitCount(checkers) > 1) {
+			return;
+		}
+		final long checkMask = checkers == EMPTY_BITBOARD ? ALL_SQUARES : BETWEEN[kingSquare][lowestSquare(checkers)] | checkers;
+		final long pinned = getPinnedPieces(position, color);
+		for (int type = KNIGHT; type < KING; type++) {
+			for (long pieces = position.pieceBitBoards[base + type]; pieces != EMPTY_BITBOARD; pieces = clearLowest(pieces)) {
+				final int from = lowestSquare(pieces);
+				long targets = attacks(type, from, occupied) & ~own & checkMask;
+				if (isSet(pinned, from)) {
+					targets &= LINE[kingSquare][from];
+				}
+				for (; targets != EMPTY_BITBOARD; targets = clearLowest(targets)) {
+					addMove(position, moves, from, lowestSquare(targets), enemy);
+				}
+			}
+		}
+		addPawnMoves(position, moves, color, kingSquare, checkMask, pinned);
+		if (checkers == EMPTY_BITBOARD) {
+			addCastlingMoves(position, moves, us, occupied);
+		}
+	}
+
+	private static void addPawnMoves(final BitBoardPosition position, final MoveList moves, final PlayerColor color,
+									 final int kingSquare, final long checkMask, final long pinned) {
+		final int us = color.ordinal();
+		final long enemy = position.colorBitBoards[us ^ 1];
+		final long empty = ~position.occupiedBitBoard;
+		final int enPassantSquare = color == position.getColorToMove() ? position.getEnPassantSquare() : NO_SQUARE;
+		for (long pawns = position.pieceBitBoards[us * PIECE_TYPES.length + PAWN]; pawns != EMPTY_BITBOARD; pawns = clearLowest(pawns)) {
+			final int from = lowestSquare(pawns);
+			final long pinMask = isSet(pinned, from) ? LINE[kingSquare][from] : ALL_SQUARES;
+			final long push = LeaperAttacks.PAWN_PUSHES[us][from] & empty;
+			if (push != EMPTY_BITBOARD) {
+				if ((push & checkMask & pinMask) != EMPTY_BITBOARD) {
+					addPawnMove(position, moves, from, lowestSquare(push), false);
+				}
+				final long doublePush = LeaperAttacks.PAWN_DOUBLE_PUSHES[us][from] & empty & checkMask & pinMask;
+				if (doublePush != EMPTY_BITBOARD) {
+					moves.add(create(from, lowestSquare(doublePush), DOUBLE_PAWN_PUSH));
+				}
+			}
+			final long attacks = LeaperAttacks.PAWN_ATTACKS[us][from];
+			for (long captures = attacks & enemy & checkMask & pinMask; captures != EMPTY_BITBOARD; captures = clearLowest(captures)) {
+				addPawnMove(position, moves, from, lowestSquare(captures), true);
+			}
+			if (enPassantSquare != NO_SQUARE && isSet(attacks, enPassantSquare) &&
+					isLegalEnPassant(position, us, kingSquare, from, enPassantSquare)) {
+				moves.add(withCaptured(create(from, enPassantSquare, EN_PASSANT), PieceType.PAWN));
+			}
+		}
+	}
+
+	// en passant removes two pieces from the capturing side's rank, so test the resulting position directly
+	private static boolean isLegalEnPassant(final BitBoardPosition position, final int us, final int kingSquare,
+											final int from, final int to) {
+		final int capturedSquare = to - COLORS[us].getDirection() * BOARD_FILES;
+		final long occupied = (position.occupiedBitBoard & ~squareBit(from) & ~squareBit(capturedSquare)) | squareBit(to);
+		return (position.attackersOf(kingSquare, us ^ 1, occupied) & ~squareBit(capturedSquare)) == EMPTY_BITBOARD;
+	}
+
+	private static void addPawnMove(final BitBoardPosition position, final MoveList moves,
+									final int from, final int to, final boolean isCapture) {
+		if (rankOf(to) == 0 || rankOf(to) == BOARD_RANKS - 1) {
+			for (final PieceType promotion : PROMOTION_TYPES) {
+				final int move = create(from, to, isCapture ? PROMOTION_CAPTURE : PROMOTION, promotion);
+				moves.add(isCapture ? withCaptured(move, typeOf(position.pieceCodes[to])) : move);
+			}
+		} else {
+			addMove(position, moves, from, to, isCapture ? squareBit(to) : EMPTY_BITBOARD);
+		}
+	}
+
+	private static void addMove(final BitBoardPosition position, final MoveList moves,
+								final int from, final int to, final long enemy) {
+		moves.add(isSet(enemy, to) ? withCaptured(create(from, to, CAPTURE), typeOf(position.pieceCodes[to])) : create(from, to, QUIET));
+	}
+
+	private static void addCastlingMoves(final BitBoardPosition position, final MoveList moves, final int us, final long occupied) {
+		final int castlingRights = position.getCastlingRights();
+		final int kingSquare = us == PlayerColor.WHITE.ordinal() ? WHITE_KING_SQUARE : BLACK_KING_SQUARE;
+		final int kingside = us == PlayerColor.WHITE.ordinal() ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+		final int queenside = us == PlayerColor.WHITE.ordinal() ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+		if ((castlingRights & kingside) != NO_CASTLING &&
+				(occupied & (squareBit(kingSquare + 1) | squareBit(kingSquare + 2))) == EMPTY_BITBOARD &&
+				!position.isAttackedBy(kingSquare + 1, us ^ 1) && !position.isAttackedBy(kingSquare + 2, us ^ 1)) {
+			moves.add(create(kingSquare, kingSquare + 2, KINGSIDE_CASTLE));
+		}
+		if ((castlingRights & queenside) != NO_CASTLING &&
+				(occupied & (squareBit(kingSquare - 1) | squareBit(kingSquare - 2) | squareBit(kingSquare - 3))) == EMPTY_BITBOARD &&
+				!position.isAttackedBy(kingSquare - 1, us ^ 1) && !position.isAttackedBy(kingSquare - 2, us ^ 1)) {
+			moves.add(create(kingSquare, kingSquare - 2, QUEENSIDE_CASTLE));
+		}
+	}
+
+	private static long attacks(final int type, final int square, final long occupied) {
+		switch (PIECE_TYPES[type]) {
+		case KNIGHT:
+			return LeaperAttacks.KNIGHT_ATTACKS[square];
+		case BISHOP:
+			return MagicBitBoards.bishopAttacks(square, occupied);
+		case ROOK:
+			return MagicBitBoards.rookAttacks(square, occupied);
+		default:
+			return MagicBitBoards.queenAttacks(square, occupied);
+		}
+	}
+
+}
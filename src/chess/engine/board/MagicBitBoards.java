@@ -0,0 +1,155 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+
+public class MagicBitBoards {
+
+	private static final int ROOK_DIRECTIONS[][] = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+	private static final int BISHOP_DIRECTIONS[][] = {{1, 1}, {-1, 1}, {1, -1}, {-1, -1}};
+	// multipliers found by random search for this square numbering (a8 = 0, h1 = 63)
+	private static final long ROOK_MAGICS[] = {
+			0xA080028098400120L, 0x00C0001009402000L, 0x010010200041000AL, 0x1080040800801000L,
+			0x2080080002040080L, 0x0B00040012080D00L, 0x0200010084080200L, 0x020000844C010022L,
+			0x0800802040008000L, 0x8141004000208100L, 0x1003002000410011L, 0x0009001000A10900L,
+			0x0200808008000400L, 0x0031000804008300L, 0x2144000802041001L, 0x0081001068820100L,
+			0x0080004000402000L, 0x0010004000200040L, 0x0010410020030810L, 0x1810004040080400L,
+			0x0008008004008008L, 0x0000080140100420L, 0x1001010100020004L, 0x400012000455088CL,
+			0x0080004040002010L, 0x1000400080802000L, 0x0003044500142000L, 0x0540240900100100L,
+			0x400C001101000800L, 0x0000200801044010L, 0x0408020400081001L, 0x2000090200088044L,
+			0x8000804004800028L, 0x0002010022004080L, 0x8802001086002241L, 0x0880082501001000L,
+			0x0000040082800800L, 0xA800040080800200L, 0x40A0300144008208L, 0x40088000C2800500L,
+			0x0800204001918000L, 0x5100410082020020L, 0x0C00100020008080L, 0x0810100009010020L,
+			0x280C080101110004L, 0x9060040002008080L, 0x0800281001340002L, 0x4008009C00420005L,
+			0x0840250880104100L, 0x0040004080200080L, 0x00100483B0200080L, 0x8044084200102200L,
+			0x0380040080080080L, 0x001C040002008080L, 0x0288022108300400L, 0x0000008054010200L,
+			0x0003084110218001L, 0x048140010822B083L, 0x2000120A40200101L, 0x0021210410000901L,
+			0x000200310824A002L, 0x5001009A28040005L, 0x801800B01102080CL, 0x20400407102080C2L
+	};
+	private static final long BISHOP_MAGICS[] = {
+			0x1070024888008500L, 0x009290020A164202L, 0x001010808D001000L, 0x10280A04A9300000L,
+			0x04045040040A4482L, 0x0000900421104002L, 0x0200841402422800L, 0x0002420080884004L,
+			0x0000840404B40C00L, 0x0C0010900CA28088L, 0x000A084809022003L, 0x1400041062030210L,
+			0x0021040420010080L, 0x00000A0190080420L, 0xA600840108090440L, 0x8180021100880420L,
+			0x0520002408460860L, 0x121800041000C60BL, 0x401004C200220020L, 0x1010400824004000L,
+			0x2144021200A21010L, 0x081200090100C207L, 0x00040A0880882880L, 0x0052440202208421L,
+			0x0408200140044141L, 0x00A9249008100400L, 0x02440100C0820081L, 0x0820104088004040L,
+			0x8050040000802100L, 0x009043000202A200L, 0x0054040424422210L, 0x1304090008288201L,
+			0x1010088A28200201L, 0x0A52100408020881L, 0x0800404041081200L, 0x4401020080080082L,
+			0x0118020400001100L, 0x8002020409020080L, 0x0008080120084100L, 0x1024C10209004201L,
+			0x0020A22060001110L, 0x0132011082010814L, 0x0400220030011200L, 0x0800804010400200L,
+			0x2100280304000110L, 0x80401800AD000020L, 0x0420020081304A01L, 0x0001224400400100L,
+			0x8300610420200000L, 0x9100490401604000L, 0x0960814A08904002L, 0x0800080020880000L,
+			0x0040106052540060L, 0x0100092008408404L, 0xA088421002020A88L, 0x82301040AA808081L,
+			0x0002022404024880L, 0x1200110880842060L, 0x0000040042209000L, 0x0000A22000A09828L,
+			0x000300C420020480L, 0x0000214820082222L, 0x0100410288020080L, 0x01280A00CA040900L
+	};
+
+	private static final long ROOK_MASKS[] = new long[BOARD_SQUARES];
+	private static final int ROOK_SHIFTS[] = new int[BOARD_SQUARES];
+	private static final int ROOK_OFFSETS[] = new int[BOARD_SQUARES];
+	private static final long BISHOP_MASKS[] = new long[BOARD_SQUARES];
+	private static final int BISHOP_SHIFTS[] = new int[BOARD_SQUARES];
+	private static final int BISHOP_OFFSETS[] = new int[BOARD_SQUARES];
+	private static final long ROOK_ATTACKS[];
+	private static final long BISHOP_ATTACKS[];
+	private static final long BUILD_TIME_NANOS;
+
+	static {
+		final long startTime = System.nanoTime();
+		ROOK_ATTACKS = buildTable(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+		BISHOP_ATTACKS = buildTable(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+		BUILD_TIME_NANOS = System.nanoTime() - startTime;
+	}
+
+	private MagicBitBoards() {
+		throw new RuntimeException("do not instantiate the MagicBitBoards class");
+	}
+
+	public static long rookAttacks(final int square, final long occupied) {
+		return ROOK_ATTACKS[ROOK_OFFSETS[square] +
+		                    (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	public static long bishopAttacks(final int square, final long occupied) {
+		return BISHOP_ATTACKS[BISHOP_OFFSETS[square] +
+		                      (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	public static long queenAttacks(final int square, final long occupied) {
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	public static long getBuildTimeNanos() {
+		return BUILD_TIME_NANOS;
+	}
+
+	public static long getTableMemoryBytes() {
+		final long attackBytes = (long) (ROOK_ATTACKS.length + BISHOP_ATTACKS.length) * Long.BYTES;
+		final long squareBytes = (long) BOARD_SQUARES * 2 * (2 * Long.BYTES + 2 * Integer.BYTES);
+		return attackBytes + squareBytes;
+	}
+
+	public static String getReport() {
+		return String.format("magic bitboards: %d rook + %d bishop entries, %.1f KiB, built in %.2f ms",
+				ROOK_ATTACKS.length, BISHOP_ATTACKS.length, getTableMemoryBytes() / 1024.0, BUILD_TIME_NANOS / 1e6);
+	}
+
+	private static long[] buildTable(final int[][] directions, final long[] masks, final long[] magics,
+									 final int[] shifts, final int[] offsets) {
+		int tableSize = 0;
+		for (int square = 0; square < BOARD_SQUARES; square++) {
+			masks[square] = relevantOccupancy(square, directions);
+			shifts[square] = Long.SIZE - Long.bitCount(masks[square]);
+			offsets[square] = tableSize;
+			tableSize += 1 << Long.bitCount(masks[square]);
+		}
+		final long[] table = new long[tableSize];
+		for (int square = 0; square < BOARD_SQUARES; square++) {
+			long subset = EMPTY_BITBOARD;
+			do {
+				final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+				table[offsets[square] + index] = slidingAttacks(square, subset, directions);
+				subset = (subset - masks[square]) & masks[square];
+			} while (subset != EMPTY_BITBOARD);
+		}
+		return table;
+	}
+
+	private static long relevantOccupancy(final int square, final int[][] directions) {
+		long result = EMPTY_BITBOARD;
+		for (final int[] direction : directions) {
+			int rank = rankOf(square) + direction[0];
+			int file = fileOf(square) + direction[1];
+			while (isOnBoard(rank + direction[0], file + direction[1])) {
+				result |= squareBit(positionOf(rank, file));
+				rank += direction[0];
+				file += direction[1];
+			}
+		}
+		return result;
+	}
+
+	private static long slidingAttacks(final int square, final long occupied, final int[][] directions) {
+		long result = EMPTY_BITBOARD;
+		for (final int[] direction : directions) {
+			int rank = rankOf(square) + direction[0];
+			int file = fileOf(square) + direction[1];
+			while (isOnBoard(rank, file)) {
+				final int target = positionOf(rank, file);
+				result |= squareBit(target);
+				if (isSet(occupied, target)) {
+					break;
+				}
+				rank += direction[0];
+				file += direction[1];
+			}
+		}
+		return result;
+	}
+
+	private static boolean isOnBoard(final int rank, final int file) {
+		return rank >= 0 && rank < BOARD_RANKS && file >= 0 && file < BOARD_FILES;
+	}
+
+}
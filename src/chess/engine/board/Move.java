@@ -55,9 +55,25 @@ public abstract class Move {
 		}
 		builder.setPiece(this.movedPiece.movePiece(this));
 		builder.setToMove(this.board.getCurrentPlayer().getOpponent().getColor());
+		builder.setZobristKey(getNextZobristKey());
 		return builder.build();
 	}
 	
+	protected long getNextZobristKey() {
+		final int from = getCurrentCoordinate();
+		final int castlingRights = this.board.getCastlingRights();
+		long key = this.board.getZobristKey() ^ Zobrist.getSideKey() ^
+				   Zobrist.getPieceKey(this.movedPiece, from) ^ Zobrist.getPieceKey(this.movedPiece, this.destination) ^
+				   Zobrist.getCastlingKey(castlingRights) ^
+				   Zobrist.getCastlingKey(castlingRights & BitBoardPosition.CASTLING_RIGHTS_MASKS[from] & BitBoardPosition.CASTLING_RIGHTS_MASKS[this.destination]) ^
+				   Zobrist.getEnPassantKey(this.board.getEnPassantSquare());
+		final Piece capturedPiece = getCapturedPiece();
+		if (capturedPiece != null) {
+			key ^= Zobrist.getPieceKey(capturedPiece, capturedPiece.getCoordinate());
+		}
+		return key;
+	}
+	
 	public boolean isCapture() {
 		return false;
 	}
@@ -67,7 +83,7 @@ public abstract class Move {
 	}
 	
 	public boolean isCheck() {
-		return board.getCurrentPlayer().makeMove(this).getTransitionBoard().getCurrentPlayer().isInCheck();
+		return board.givesCheck(CompactMove.of(this));
 	}
 	
 	public boolean isCastlingMove() {
@@ -305,6 +321,7 @@ public abstract class Move {
 			}
 			builder.setPiece(this.movedPiece.movePiece(this));
 			builder.setToMove(this.board.getCurrentPlayer().getOpponent().getColor());
+			builder.setZobristKey(getNextZobristKey());
 			return builder.build();
 		}
 		
@@ -353,6 +370,7 @@ public abstract class Move {
 			builder.setEnPassantPawn(movedPawn);
 			builder.setEnPassantRange(1);
 			builder.setToMove(this.board.getCurrentPlayer().getOpponent().getColor());
+			builder.setZobristKey(getNextZobristKey() ^ Zobrist.getEnPassantKey((getCurrentCoordinate() + this.destination) / 2));
 			return builder.build();
 		
 		}
@@ -411,6 +429,9 @@ public abstract class Move {
 			}
 			builder.setPiece(this.promotionPiece.movePiece(this));
 			builder.setToMove(pawnMoveBoard.getCurrentPlayer().getColor());
+			builder.setZobristKey(pawnMoveBoard.getZobristKey() ^
+								  Zobrist.getPieceKey(this.promotedPawn, this.destination) ^
+								  Zobrist.getPieceKey(this.promotionPiece, this.destination));
 			return builder.build();
 		}
 		
@@ -480,8 +501,11 @@ public abstract class Move {
 				builder.setPiece(piece);
 			}
 			builder.setPiece(this.movedPiece.movePiece(this));
-			builder.setPiece(new Rook(this.movedRook.getPieceColor(), rookDestination));
+			builder.setPiece(Piece.createPiece(PieceType.ROOK, this.movedRook.getPieceColor(), rookDestination, true));
 			builder.setToMove(this.board.getCurrentPlayer().getOpponent().getColor());
+			builder.setZobristKey(getNextZobristKey() ^
+								  Zobrist.getPieceKey(this.movedRook, this.movedRook.getCoordinate()) ^
+								  Zobrist.getPieceKey(this.movedRook, this.rookDestination));
 			return builder.build();
 		}
 
@@ -592,12 +616,37 @@ public abstract class Move {
 		}
 		
 		public static Move createMove (final Board board, final int currentCoordinate, final int destinationCoordinate) {
-			for (final Move move : board.getAllLegalMoves()) {
-				if (move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate) {
-					return move;
-				}					
+			final Move move = board.getMoveIndex().get(currentCoordinate, destinationCoordinate);
+			return move != null ? move : NULL_MOVE;
+		}
+
+		public static Move createMove(final Board board, final int compactMove) {
+			if (compactMove == CompactMove.NULL_MOVE) {
+				return NULL_MOVE;
+			}
+			final int from = CompactMove.from(compactMove);
+			final int to = CompactMove.to(compactMove);
+			final Piece piece = board.getPiece(from);
+			switch (CompactMove.kind(compactMove)) {
+				case CompactMove.DOUBLE_PAWN_PUSH:
+					return new DoublePawnMove(board, piece, to);
+				case CompactMove.KINGSIDE_CASTLE:
+					return new KingsideCastlingMove(board, piece, to, (Rook) board.getPiece(to + 1), to - 1);
+				case CompactMove.QUEENSIDE_CASTLE:
+					return new QueensideCastlingMove(board, piece, to, (Rook) board.getPiece(to - 2), to + 1);
+				case CompactMove.EN_PASSANT:
+					return new EnPassantCapture(board, piece, to, board.getEnPassantPawn());
+				case CompactMove.PROMOTION:
+					return new PawnPromotion(new PawnMove(board, piece, to), Piece.createPiece(CompactMove.promotion(compactMove), piece.getPieceColor(), to, false));
+				case CompactMove.PROMOTION_CAPTURE:
+					return new PawnPromotion(new PawnCapture(board, piece, to, board.getPiece(to)), Piece.createPiece(CompactMove.promotion(compactMove), piece.getPieceColor(), to, false));
+				case CompactMove.CAPTURE:
+					return piece.getPieceType() == PieceType.PAWN ? new PawnCapture(board, piece, to, board.getPiece(to)) :
+																	new NormalCapture(board, piece, to, board.getPiece(to));
+				default:
+					return piece.getPieceType() == PieceType.PAWN ? new PawnMove(board, piece, to) :
+																	new NormalMove(board, piece, to);
 			}
-			return NULL_MOVE;
 		}
 	}
 	
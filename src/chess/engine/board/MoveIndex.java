@@ -0,0 +1,77 @@
+package chess.engine.board;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import chess.engine.board.Move.PawnPromotion;
+import chess.engine.pieces.PieceType;
+
+public final class MoveIndex {
+
+	private static final int NO_KEY = -1;
+	private static final int NO_PROMOTION = 7;
+	private static final int TO_SHIFT = 6;
+	private static final int PROMOTION_SHIFT = 12;
+
+	// open addressing over (from, to, promotion) keys, kept at most half full
+	private final int[] keys;
+	private final Move[] moves;
+	private final int shift;
+
+	public MoveIndex(final Collection<Move> legalMoves) {
+		final int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(legalMoves.size() * 2));
+		this.keys = new int[1 << bits];
+		this.moves = new Move[1 << bits];
+		this.shift = Integer.SIZE - bits;
+		Arrays.fill(this.keys, NO_KEY);
+		for (final Move move : legalMoves) {
+			final int key = keyOf(move);
+			int slot = slotOf(key);
+			while (this.keys[slot] != NO_KEY && this.keys[slot] != key) {
+				slot = (slot + 1) & (this.keys.length - 1);
+			}
+			if (this.keys[slot] == NO_KEY) {
+				this.keys[slot] = key;
+				this.moves[slot] = move;
+			}
+		}
+	}
+
+	public Move get(final int from, final int to, final PieceType promotion) {
+		final int key = keyOf(from, to, promotion == null ? NO_PROMOTION : promotion.ordinal());
+		for (int slot = slotOf(key); this.keys[slot] != NO_KEY; slot = (slot + 1) & (this.keys.length - 1)) {
+			if (this.keys[slot] == key) {
+				return this.moves[slot];
+			}
+		}
+		return null;
+	}
+
+	public Move get(final int from, final int to) {
+		final Move move = get(from, to, null);
+		return move != null ? move : get(from, to, PieceType.QUEEN);
+	}
+
+	public boolean contains(final Move move) {
+		final Move indexed = get(move.getCurrentCoordinate(), move.getDestinationCoordinate(), promotionOf(move));
+		return indexed != null && (indexed == move || indexed.equals(move));
+	}
+
+	private int slotOf(final int key) {
+		return (key * 0x9E3779B1) >>> this.shift;
+	}
+
+	private static PieceType promotionOf(final Move move) {
+		return move instanceof PawnPromotion ? ((PawnPromotion) move).getPromotionPiece().getPieceType() : null;
+	}
+
+	private static int keyOf(final Move move) {
+		final PieceType promotion = promotionOf(move);
+		return keyOf(move.getCurrentCoordinate(), move.getDestinationCoordinate(), promotion == null ? NO_PROMOTION : promotion.ordinal());
+	}
+
+	private static int keyOf(final int from, final int to, final int promotion) {
+		return from | (to << TO_SHIFT) | (promotion << PROMOTION_SHIFT);
+	}
+
+}
@@ -0,0 +1,72 @@
+package chess.engine.board;
+
+public final class MoveList {
+	
+	private final int[] moves;
+	private int size;
+	
+	public MoveList() {
+		this(SearchBoard.MAX_MOVES);
+	}
+	
+	public MoveList(final int capacity) {
+		this.moves = new int[capacity];
+	}
+	
+	public static MoveList[] createStack(final int plies) {
+		final MoveList[] result = new MoveList[plies];
+		for (int i = 0; i < plies; i++) {
+			result[i] = new MoveList();
+		}
+		return result;
+	}
+	
+	public void add(final int move) {
+		this.moves[this.size++] = move;
+	}
+	
+	public int get(final int index) {
+		return this.moves[index];
+	}
+	
+	public void set(final int index, final int move) {
+		this.moves[index] = move;
+	}
+	
+	public void swap(final int i, final int j) {
+		final int move = this.moves[i];
+		this.moves[i] = this.moves[j];
+		this.moves[j] = move;
+	}
+	
+	public int size() {
+		return this.size;
+	}
+	
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	public void clear() {
+		this.size = 0;
+	}
+	
+	public boolean contains(final int move) {
+		for (int i = 0; i < this.size; i++) {
+			if (this.moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < this.size; i++) {
+			sb.append(i == 0 ? "" : ", ").append(CompactMove.toString(this.moves[i]));
+		}
+		return sb.append("]").toString();
+	}
+
+}
@@ -0,0 +1,386 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+import static chess.engine.board.CompactMove.*;
+
+import java.util.Arrays;
+
+import chess.engine.PlayerColor;
+import chess.engine.pieces.PieceType;
+
+public final class SearchBoard extends BitBoardPosition {
+
+	public static final int MAX_MOVES = 256;
+
+	private static final int WHITE = PlayerColor.WHITE.ordinal();
+	private static final int PAWN = PieceType.PAWN.ordinal();
+	private static final int KING = PieceType.KING.ordinal();
+	private static final int ROOK = PieceType.ROOK.ordinal();
+	private static final int CAPTURE_MOVES = 1;
+	private static final int PROMOTION_MOVES = 2;
+	private static final int QUIET_MOVES = 4;
+	private static final int ALL_MOVES = CAPTURE_MOVES | PROMOTION_MOVES | QUIET_MOVES;
+	private static final PieceType PROMOTION_TYPES[] = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+	private int sideToMove;
+	private int castlingRights;
+	private int enPassantSquare;
+	private long zobristKey;
+	private int historyPly;
+	private int[] moveHistory = new int[MAX_MOVES];
+	private int[] capturedHistory = new int[MAX_MOVES];
+	private int[] castlingHistory = new int[MAX_MOVES];
+	private int[] enPassantHistory = new int[MAX_MOVES];
+	private long[] keyHistory = new long[MAX_MOVES];
+	private final MoveList scratchMoves = new MoveList();
+
+	public SearchBoard(final Board board) {
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			if (board.pieceCodes[i] != NO_PIECE) {
+				placePiece(board.pieceCodes[i], i);
+			}
+		}
+		this.sideToMove = board.getColorToMove().ordinal();
+		this.castlingRights = board.getCastlingRights();
+		this.enPassantSquare = board.getEnPassantSquare();
+		this.zobristKey = board.getZobristKey();
+	}
+
+	public SearchBoard(final SearchBoard position) {
+		copyFrom(position);
+	}
+
+	// takes over the position but not the move history, so the copy cannot unmake past it
+	public void copyFrom(final SearchBoard position) {
+		System.arraycopy(position.pieceBitBoards, 0, this.pieceBitBoards, 0, this.pieceBitBoards.length);
+		System.arraycopy(position.colorBitBoards, 0, this.colorBitBoards, 0, this.colorBitBoards.length);
+		System.arraycopy(position.pieceCodes, 0, this.pieceCodes, 0, this.pieceCodes.length);
+		this.occupiedBitBoard = position.occupiedBitBoard;
+		this.sideToMove = position.sideToMove;
+		this.castlingRights = position.castlingRights;
+		this.enPassantSquare = position.enPassantSquare;
+		this.zobristKey = position.zobristKey;
+		this.historyPly = 0;
+	}
+
+	@Override
+	public PlayerColor getColorToMove() {
+		return COLORS[this.sideToMove];
+	}
+
+	@Override
+	public int getCastlingRights() {
+		return this.castlingRights;
+	}
+
+	@Override
+	public int getEnPassantSquare() {
+		return this.enPassantSquare;
+	}
+
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
+
+	public int getPly() {
+		return this.historyPly;
+	}
+
+	@Override
+	public boolean isSquareAttacked(final int square, final PlayerColor color) {
+		return isAttackedBy(square, color.ordinal());
+	}
+
+	public boolean isInCheck() {
+		return isAttackedBy(kingSquare(this.sideToMove), this.sideToMove ^ 1);
+	}
+
+	public boolean hasLegalMoves() {
+		LegalMoveGenerator.generateMoves(this, getColorToMove(), this.scratchMoves);
+		return !this.scratchMoves.isEmpty();
+	}
+
+	public void generateLegalMoves(final MoveList moves) {
+		LegalMoveGenerator.generateMoves(this, getColorToMove(), moves);
+	}
+
+	public void generateMoves(final MoveList moves) {
+		moves.clear();
+		addMoves(moves, ALL_MOVES, ~EMPTY_BITBOARD);
+	}
+
+	public void generateCaptures(final MoveList moves) {
+		moves.clear();
+		addMoves(moves, CAPTURE_MOVES, ~EMPTY_BITBOARD);
+	}
+
+	public void generatePromotions(final MoveList moves) {
+		moves.clear();
+		addMoves(moves, PROMOTION_MOVES, ~EMPTY_BITBOARD);
+	}
+
+	public void generateTacticalMoves(final MoveList moves) {
+		moves.clear();
+		addMoves(moves, CAPTURE_MOVES | PROMOTION_MOVES, ~EMPTY_BITBOARD);
+	}
+
+	public void generateQuiets(final MoveList moves) {
+		moves.clear();
+		addMoves(moves, QUIET_MOVES, ~EMPTY_BITBOARD);
+	}
+
+	public boolean isPseudoLegal(final int move) {
+		final int from = from(move);
+		final int pieceCode = this.pieceCodes[from];
+		if (move == NULL_MOVE || pieceCode == NO_PIECE || pieceCode / PIECE_TYPES.length != this.sideToMove) {
+			return false;
+		}
+		final int stage = isCapture(move) ? CAPTURE_MOVES : isPromotion(move) ? PROMOTION_MOVES : QUIET_MOVES;
+		this.scratchMoves.clear();
+		addMoves(this.scratchMoves, stage, squareBit(from));
+		return this.scratchMoves.contains(move);
+	}
+
+	private void addMoves(final MoveList moves, final int stages, final long fromMask) {
+		final int us = this.sideToMove;
+		final long own = this.colorBitBoards[us];
+		final long enemy = this.colorBitBoards[us ^ 1];
+		final long empty = ~this.occupiedBitBoard;
+		final int base = us * PIECE_TYPES.length;
+		final boolean captures = (stages & CAPTURE_MOVES) != 0;
+		final boolean promotions = (stages & PROMOTION_MOVES) != 0;
+		final boolean quiets = (stages & QUIET_MOVES) != 0;
+		for (long pawns = this.pieceBitBoards[base + PAWN] & fromMask; pawns != EMPTY_BITBOARD; pawns = clearLowest(pawns)) {
+			final int from = lowestSquare(pawns);
+			final long push = LeaperAttacks.PAWN_PUSHES[us][from] & empty;
+			if (push != EMPTY_BITBOARD) {
+				final int to = lowestSquare(push);
+				if (isPromotionSquare(to) ? promotions : quiets) {
+					addPawnMoves(moves, from, to, false);
+				}
+				final long doublePush = LeaperAttacks.PAWN_DOUBLE_PUSHES[us][from] & empty;
+				if (quiets && doublePush != EMPTY_BITBOARD) {
+					moves.add(create(from, lowestSquare(doublePush), DOUBLE_PAWN_PUSH));
+				}
+			}
+			if (!captures) {
+				continue;
+			}
+			final long attacks = LeaperAttacks.PAWN_ATTACKS[us][from];
+			for (long targets = attacks & enemy; targets != EMPTY_BITBOARD; targets = clearLowest(targets)) {
+				addPawnMoves(moves, from, lowestSquare(targets), true);
+			}
+			if (this.enPassantSquare != NO_SQUARE && isSet(attacks, this.enPassantSquare)) {
+				moves.add(withCaptured(create(from, this.enPassantSquare, EN_PASSANT), PieceType.PAWN));
+			}
+		}
+		final long targetMask = (captures ? enemy : EMPTY_BITBOARD) | (quiets ? empty : EMPTY_BITBOARD);
+		if (targetMask != EMPTY_BITBOARD) {
+			for (int type = PieceType.KNIGHT.ordinal(); type <= KING; type++) {
+				for (long pieces = this.pieceBitBoards[base + type] & fromMask; pieces != EMPTY_BITBOARD; pieces = clearLowest(pieces)) {
+					final int from = lowestSquare(pieces);
+					for (long targets = attacks(type, from) & ~own & targetMask; targets != EMPTY_BITBOARD; targets = clearLowest(targets)) {
+						final int to = lowestSquare(targets);
+						moves.add(isSet(enemy, to) ? withCaptured(create(from, to, CAPTURE), typeOf(this.pieceCodes[to])) : create(from, to, QUIET));
+					}
+				}
+			}
+		}
+		if (quiets && (this.pieceBitBoards[base + KING] & fromMask) != EMPTY_BITBOARD) {
+			addCastlingMoves(moves, us);
+		}
+	}
+
+	public int countCastlingMoves(final PlayerColor color) {
+		this.scratchMoves.clear();
+		addCastlingMoves(this.scratchMoves, color.ordinal());
+		return this.scratchMoves.size();
+	}
+
+	public boolean makeMove(final int move) {
+		ensureHistoryCapacity();
+		final int us = this.sideToMove;
+		final int from = from(move);
+		final int to = to(move);
+		final int kind = kind(move);
+		final int movedPiece = this.pieceCodes[from];
+		final int placedPiece = isPromotion(move) ? us * PIECE_TYPES.length + promotion(move).ordinal() : movedPiece;
+		int capturedPiece = this.pieceCodes[to];
+		this.moveHistory[this.historyPly] = move;
+		this.castlingHistory[this.historyPly] = this.castlingRights;
+		this.enPassantHistory[this.historyPly] = this.enPassantSquare;
+		this.keyHistory[this.historyPly] = this.zobristKey;
+		long key = this.zobristKey ^ Zobrist.getSideKey() ^
+				   Zobrist.getCastlingKey(this.castlingRights) ^ Zobrist.getEnPassantKey(this.enPassantSquare);
+		if (kind == EN_PASSANT) {
+			final int capturedSquare = enPassantVictimSquare(to, us);
+			capturedPiece = this.pieceCodes[capturedSquare];
+			key ^= Zobrist.getPieceKey(capturedPiece, capturedSquare);
+			removePiece(capturedSquare);
+		} else if (capturedPiece != NO_PIECE) {
+			key ^= Zobrist.getPieceKey(capturedPiece, to);
+			removePiece(to);
+		}
+		this.capturedHistory[this.historyPly] = capturedPiece;
+		this.historyPly++;
+		removePiece(from);
+		placePiece(placedPiece, to);
+		key ^= Zobrist.getPieceKey(movedPiece, from) ^ Zobrist.getPieceKey(placedPiece, to);
+		if (kind == KINGSIDE_CASTLE) {
+			key ^= moveRook(us, to + 1, to - 1);
+		} else if (kind == QUEENSIDE_CASTLE) {
+			key ^= moveRook(us, to - 2, to + 1);
+		}
+		this.castlingRights &= CASTLING_RIGHTS_MASKS[from] & CASTLING_RIGHTS_MASKS[to];
+		this.enPassantSquare = kind == DOUBLE_PAWN_PUSH ? (from + to) / 2 : NO_SQUARE;
+		this.zobristKey = key ^ Zobrist.getCastlingKey(this.castlingRights) ^ Zobrist.getEnPassantKey(this.enPassantSquare);
+		this.sideToMove = us ^ 1;
+		return !isAttackedBy(kingSquare(us), us ^ 1);
+	}
+
+	// passes the turn; undone by unmakeMove like any other move
+	public void makeNullMove() {
+		ensureHistoryCapacity();
+		this.moveHistory[this.historyPly] = NULL_MOVE;
+		this.castlingHistory[this.historyPly] = this.castlingRights;
+		this.enPassantHistory[this.historyPly] = this.enPassantSquare;
+		this.keyHistory[this.historyPly] = this.zobristKey;
+		this.capturedHistory[this.historyPly] = NO_PIECE;
+		this.historyPly++;
+		this.zobristKey ^= Zobrist.getSideKey() ^ Zobrist.getEnPassantKey(this.enPassantSquare);
+		this.enPassantSquare = NO_SQUARE;
+		this.sideToMove ^= 1;
+	}
+
+	public boolean hasNonPawnMaterial(final PlayerColor color) {
+		final int base = color.ordinal() * PIECE_TYPES.length;
+		for (int type = PieceType.KNIGHT.ordinal(); type < KING; type++) {
+			if (this.pieceBitBoards[base + type] != EMPTY_BITBOARD) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void unmakeMove() {
+		this.historyPly--;
+		final int move = this.moveHistory[this.historyPly];
+		final int capturedPiece = this.capturedHistory[this.historyPly];
+		final int us = this.sideToMove ^ 1;
+		if (move == NULL_MOVE) {
+			this.enPassantSquare = this.enPassantHistory[this.historyPly];
+			this.zobristKey = this.keyHistory[this.historyPly];
+			this.sideToMove = us;
+			return;
+		}
+		final int from = from(move);
+		final int to = to(move);
+		final int kind = kind(move);
+		final int movedPiece = isPromotion(move) ? us * PIECE_TYPES.length + PAWN : this.pieceCodes[to];
+		removePiece(to);
+		placePiece(movedPiece, from);
+		if (kind == EN_PASSANT) {
+			placePiece(capturedPiece, enPassantVictimSquare(to, us));
+		} else if (capturedPiece != NO_PIECE) {
+			placePiece(capturedPiece, to);
+		}
+		if (kind == KINGSIDE_CASTLE) {
+			removePiece(to - 1);
+			placePiece(us * PIECE_TYPES.length + ROOK, to + 1);
+		} else if (kind == QUEENSIDE_CASTLE) {
+			removePiece(to + 1);
+			placePiece(us * PIECE_TYPES.length + ROOK, to - 2);
+		}
+		this.castlingRights = this.castlingHistory[this.historyPly];
+		this.enPassantSquare = this.enPassantHistory[this.historyPly];
+		this.zobristKey = this.keyHistory[this.historyPly];
+		this.sideToMove = us;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			final int pieceCode = this.pieceCodes[i];
+			if (pieceCode == NO_PIECE) {
+				sb.append("[ ]");
+			} else {
+				final String name = typeOf(pieceCode).toString();
+				sb.append("[").append(colorOf(pieceCode) == PlayerColor.WHITE ? name : name.toLowerCase()).append("]");
+			}
+			if ((i + 1) % BOARD_FILES == 0) {
+				sb.append("\n");
+			}
+		}
+		return sb.toString();
+	}
+
+	private long attacks(final int type, final int square) {
+		switch (PIECE_TYPES[type]) {
+		case KNIGHT:
+			return LeaperAttacks.KNIGHT_ATTACKS[square];
+		case BISHOP:
+			return MagicBitBoards.bishopAttacks(square, this.occupiedBitBoard);
+		case ROOK:
+			return MagicBitBoards.rookAttacks(square, this.occupiedBitBoard);
+		case QUEEN:
+			return MagicBitBoards.queenAttacks(square, this.occupiedBitBoard);
+		default:
+			return LeaperAttacks.KING_ATTACKS[square];
+		}
+	}
+
+	private void addPawnMoves(final MoveList moves, final int from, final int to, final boolean isCapture) {
+		if (isPromotionSquare(to)) {
+			for (final PieceType promotion : PROMOTION_TYPES) {
+				final int move = create(from, to, isCapture ? PROMOTION_CAPTURE : PROMOTION, promotion);
+				moves.add(isCapture ? withCaptured(move, typeOf(this.pieceCodes[to])) : move);
+			}
+		} else {
+			moves.add(isCapture ? withCaptured(create(from, to, CAPTURE), typeOf(this.pieceCodes[to])) : create(from, to, QUIET));
+		}
+	}
+
+	private static boolean isPromotionSquare(final int square) {
+		return rankOf(square) == 0 || rankOf(square) == BOARD_RANKS - 1;
+	}
+
+	private void addCastlingMoves(final MoveList moves, final int us) {
+		final int kingSquare = us == WHITE ? WHITE_KING_SQUARE : BLACK_KING_SQUARE;
+		final int kingside = us == WHITE ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+		final int queenside = us == WHITE ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+		if ((this.castlingRights & (kingside | queenside)) == NO_CASTLING || isAttackedBy(kingSquare, us ^ 1)) {
+			return;
+		}
+		if ((this.castlingRights & kingside) != NO_CASTLING &&
+				!isOccupied(kingSquare + 1) && !isOccupied(kingSquare + 2) &&
+				!isAttackedBy(kingSquare + 1, us ^ 1)) {
+			moves.add(create(kingSquare, kingSquare + 2, KINGSIDE_CASTLE));
+		}
+		if ((this.castlingRights & queenside) != NO_CASTLING &&
+				!isOccupied(kingSquare - 1) && !isOccupied(kingSquare - 2) && !isOccupied(kingSquare - 3) &&
+				!isAttackedBy(kingSquare - 1, us ^ 1)) {
+			moves.add(create(kingSquare, kingSquare - 2, QUEENSIDE_CASTLE));
+		}
+	}
+
+	private long moveRook(final int us, final int from, final int to) {
+		final int rook = us * PIECE_TYPES.length + ROOK;
+		removePiece(from);
+		placePiece(rook, to);
+		return Zobrist.getPieceKey(rook, from) ^ Zobrist.getPieceKey(rook, to);
+	}
+
+	private void ensureHistoryCapacity() {
+		if (this.historyPly == this.moveHistory.length) {
+			final int capacity = this.moveHistory.length * 2;
+			this.moveHistory = Arrays.copyOf(this.moveHistory, capacity);
+			this.capturedHistory = Arrays.copyOf(this.capturedHistory, capacity);
+			this.castlingHistory = Arrays.copyOf(this.castlingHistory, capacity);
+			this.enPassantHistory = Arrays.copyOf(this.enPassantHistory, capacity);
+			this.keyHistory = Arrays.copyOf(this.keyHistory, capacity);
+		}
+	}
+
+}
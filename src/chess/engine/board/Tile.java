@@ -1,16 +1,18 @@
 package chess.engine.board;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
 
+import chess.engine.PlayerColor;
 import chess.engine.pieces.Piece;
+import chess.engine.pieces.PieceType;
 
 public abstract class Tile {
 	
 	final private int tileCoordinate;
 	final private boolean isOccupied;
-	final private static Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createEmptyTiles();
+	final private static EmptyTile[] EMPTY_TILES_CACHE = createEmptyTiles();
+	final private static OccupiedTile[] OCCUPIED_TILES_CACHE = createOccupiedTiles();
 	
 	private Tile(final int c, final boolean o) {
 		this.tileCoordinate = c;
@@ -18,15 +20,34 @@ public abstract class Tile {
 	}
 	
 	public static Tile createTile(final int coordinate, final Piece piece) {
-		return piece == null ? EMPTY_TILES_CACHE.get(coordinate) : new OccupiedTile(coordinate, piece);
+		if (piece == null) {
+			return EMPTY_TILES_CACHE[coordinate];
+		}
+		final OccupiedTile tile = OCCUPIED_TILES_CACHE[Piece.getCacheIndex(piece.getPieceType(), piece.getPieceColor(), coordinate, piece.isFirstMove())];
+		return tile.getPiece() == piece ? tile : new OccupiedTile(coordinate, piece);
+	}
+	
+	private static EmptyTile[] createEmptyTiles() {
+		final EmptyTile[] emptyTiles = new EmptyTile[BOARD_SQUARES];
+		for (int i = 0; i < BOARD_SQUARES; i++) {
+			emptyTiles[i] = new EmptyTile(i);
+		}
+		return emptyTiles;
 	}
 	
-	private static Map<Integer, EmptyTile> createEmptyTiles() {
-		final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
-		for (int i = 0; i < BoardUtil.BOARD_SQUARES; i++) {
-			emptyTileMap.put(i, new EmptyTile(i));
+	private static OccupiedTile[] createOccupiedTiles() {
+		final OccupiedTile[] occupiedTiles = new OccupiedTile[Piece.PIECE_CACHE_SIZE];
+		for (final PieceType type : PIECE_TYPES) {
+			for (final PlayerColor color : COLORS) {
+				for (int i = 0; i < BOARD_SQUARES; i++) {
+					for (final boolean isFirstMove : new boolean[] {false, true}) {
+						final Piece piece = Piece.createPiece(type, color, i, isFirstMove);
+						occupiedTiles[Piece.getCacheIndex(type, color, i, isFirstMove)] = new OccupiedTile(i, piece);
+					}
+				}
+			}
 		}
-		return Collections.unmodifiableMap(emptyTileMap);
+		return occupiedTiles;
 	}
 
 	public int getCoordinate() {
@@ -0,0 +1,73 @@
+package chess.engine.board;
+
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+
+import java.util.Random;
+
+import chess.engine.PlayerColor;
+import chess.engine.pieces.Piece;
+
+public class Zobrist {
+
+	private static final long SEED = 0x5EED_C0DE_2B1D_7A93L;
+	private static final long PIECE_KEYS[][] = new long[PIECE_CODES][BOARD_SQUARES];
+	private static final long CASTLING_KEYS[] = new long[16];
+	private static final long EN_PASSANT_KEYS[] = new long[BOARD_FILES];
+	private static final long SIDE_KEY;
+
+	static {
+		final Random random = new Random(SEED);
+		for (int code = 0; code < PIECE_CODES; code++) {
+			for (int square = 0; square < BOARD_SQUARES; square++) {
+				PIECE_KEYS[code][square] = random.nextLong();
+			}
+		}
+		// no rights hashes to zero so a position without castling needs no term
+		for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+			CASTLING_KEYS[rights] = random.nextLong();
+		}
+		for (int file = 0; file < BOARD_FILES; file++) {
+			EN_PASSANT_KEYS[file] = random.nextLong();
+		}
+		SIDE_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+		throw new RuntimeException("do not instantiate the Zobrist class");
+	}
+
+	public static long getPieceKey(final int pieceCode, final int square) {
+		return PIECE_KEYS[pieceCode][square];
+	}
+
+	public static long getPieceKey(final Piece piece, final int square) {
+		return PIECE_KEYS[pieceCode(piece.getPieceColor(), piece.getPieceType())][square];
+	}
+
+	public static long getCastlingKey(final int castlingRights) {
+		return CASTLING_KEYS[castlingRights];
+	}
+
+	public static long getEnPassantKey(final int enPassantSquare) {
+		return enPassantSquare == BitBoardPosition.NO_SQUARE ? 0L : EN_PASSANT_KEYS[fileOf(enPassantSquare)];
+	}
+
+	public static long getSideKey() {
+		return SIDE_KEY;
+	}
+
+	public static long computeKey(final BitBoardPosition position, final PlayerColor toMove,
+								  final int castlingRights, final int enPassantSquare) {
+		long key = getCastlingKey(castlingRights) ^ getEnPassantKey(enPassantSquare);
+		if (toMove == PlayerColor.BLACK) {
+			key ^= SIDE_KEY;
+		}
+		for (long bits = position.getOccupiedBitBoard(); bits != EMPTY_BITBOARD; bits = clearLowest(bits)) {
+			final int square = lowestSquare(bits);
+			key ^= PIECE_KEYS[position.getPieceCode(square)][square];
+		}
+		return key;
+	}
+
+}
@@ -0,0 +1,226 @@
+package chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.FenUtil;
+import chess.engine.board.MagicBitBoards;
+import chess.engine.board.Move;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+
+public class Perft {
+
+	private static final int DEFAULT_REFERENCE_DEPTH = 4;
+
+	private final boolean useBoard;
+	private final boolean isParallel;
+
+	public Perft(final boolean useBoard, final boolean isParallel) {
+		this.useBoard = useBoard;
+		this.isParallel = isParallel;
+	}
+
+	public long count(final Board board, final int depth) {
+		if (depth <= 0) {
+			return 1;
+		}
+		long nodes = 0;
+		for (final long count : divide(board, depth).values()) {
+			nodes += count;
+		}
+		return nodes;
+	}
+
+	public Map<String, Long> divide(final Board board, final int depth) {
+		final Map<String, Long> result = new LinkedHashMap<>();
+		if (depth <= 0) {
+			return result;
+		}
+		final Collection<Move> rootMoves = board.getCurrentPlayer().getLegalMovesNoCheck();
+		final List<Callable<Long>> tasks = new ArrayList<>(rootMoves.size());
+		for (final Move move : rootMoves) {
+			tasks.add(() -> countAfter(board, move, depth - 1));
+		}
+		final List<Long> counts = this.isParallel ? invokeAll(tasks) : callAll(tasks);
+		int i = 0;
+		for (final Move move : rootMoves) {
+			result.put(CompactMove.toString(CompactMove.of(move)), counts.get(i++));
+		}
+		return result;
+	}
+
+	private long countAfter(final Board board, final Move move, final int depth) {
+		if (this.useBoard) {
+			return countBoard(move.execute(), depth);
+		}
+		final SearchBoard searchBoard = new SearchBoard(board);
+		searchBoard.makeMove(CompactMove.of(move));
+		return countSearchBoard(searchBoard, MoveList.createStack(Math.max(depth, 1)), depth);
+	}
+
+	public static long countBoard(final Board board, final int depth) {
+		if (depth <= 0) {
+			return 1;
+		}
+		final Collection<Move> moves = board.getCurrentPlayer().getLegalMovesNoCheck();
+		if (depth == 1) {
+			return moves.size();
+		}
+		long nodes = 0;
+		for (final Move move : moves) {
+			nodes += countBoard(move.execute(), depth - 1);
+		}
+		return nodes;
+	}
+
+	public static long countSearchBoard(final SearchBoard board, final MoveList[] moveLists, final int depth) {
+		if (depth <= 0) {
+			return 1;
+		}
+		final MoveList moves = moveLists[depth - 1];
+		board.generateLegalMoves(moves);
+		if (depth == 1) {
+			return moves.size();
+		}
+		long nodes = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			board.makeMove(moves.get(i));
+			nodes += countSearchBoard(board, moveLists, depth - 1);
+			board.unmakeMove();
+		}
+		return nodes;
+	}
+
+	private static List<Long> callAll(final List<Callable<Long>> tasks) {
+		final List<Long> result = new ArrayList<>(tasks.size());
+		try {
+			for (final Callable<Long> task : tasks) {
+				result.add(task.call());
+			}
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		return result;
+	}
+
+	private static List<Long> invokeAll(final List<Callable<Long>> tasks) {
+		final List<Long> result = new ArrayList<>(tasks.size());
+		try {
+			for (final Future<Long> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+				result.add(future.get());
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+		return result;
+	}
+
+	private void runDivide(final Board board, final int depth) {
+		final long startTime = System.nanoTime();
+		long nodes = 0;
+		for (final Map.Entry<String, Long> entry : divide(board, depth).entrySet()) {
+			System.out.println(entry.getKey() + ": " + entry.getValue());
+			nodes += entry.getValue();
+		}
+		System.out.println();
+		System.out.println("moves: " + board.getCurrentPlayer().getLegalMovesNoCheck().size());
+		report(depth, nodes, System.nanoTime() - startTime);
+	}
+
+	private void runCount(final Board board, final int depth) {
+		final long startTime = System.nanoTime();
+		final long nodes = count(board, depth);
+		report(depth, nodes, System.nanoTime() - startTime);
+	}
+
+	private boolean runReference(final int maxDepth) {
+		boolean passed = true;
+		long totalNodes = 0;
+		final long startTime = System.nanoTime();
+		for (final PerftPosition position : PerftPosition.values()) {
+			final Board board = FenUtil.createBoard(position.getFen());
+			for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+				final long nodes = count(board, depth);
+				final boolean isCorrect = nodes == position.getNodeCount(depth);
+				System.out.println(String.format("%-18s depth %d: %12d %s", position, depth, nodes,
+						isCorrect ? "ok" : "FAILED, expected " + position.getNodeCount(depth)));
+				passed &= isCorrect;
+				totalNodes += nodes;
+			}
+		}
+		System.out.println(passed ? "all reference counts match" : "REFERENCE COUNTS DIFFER");
+		report(maxDepth, totalNodes, System.nanoTime() - startTime);
+		return passed;
+	}
+
+	private static void report(final int depth, final long nodes, final long nanos) {
+		System.out.println(String.format("depth %d: %d nodes in %.3f s, %.0f nodes/s",
+				depth, nodes, nanos / 1e9, nodes / Math.max(nanos / 1e9, 1e-9)));
+	}
+
+	private static void printUsage() {
+		System.out.println("usage: Perft [-divide] [-parallel] [-board] <depth> [fen]");
+		System.out.println("       Perft [-parallel] [-board] -reference [max depth]");
+		System.out.println("  -divide     print the node count below each root move");
+		System.out.println("  -parallel   split the root moves across the common ForkJoinPool");
+		System.out.println("  -board      count with Board and Move.execute instead of SearchBoard");
+	}
+
+	public static void main(final String[] args) {
+		boolean isDivide = false;
+		boolean isParallel = false;
+		boolean useBoard = false;
+		boolean isReference = false;
+		final List<String> operands = new ArrayList<>();
+		for (final String arg : args) {
+			switch (arg) {
+			case "-divide":
+				isDivide = true;
+				break;
+			case "-parallel":
+				isParallel = true;
+				break;
+			case "-board":
+				useBoard = true;
+				break;
+			case "-reference":
+				isReference = true;
+				break;
+			default:
+				operands.add(arg);
+			}
+		}
+		if (operands.isEmpty() && !isReference) {
+			printUsage();
+			return;
+		}
+		System.out.println(MagicBitBoards.getReport());
+		final Perft perft = new Perft(useBoard, isParallel);
+		if (isReference) {
+			final int maxDepth = operands.isEmpty() ? DEFAULT_REFERENCE_DEPTH : Integer.parseInt(operands.get(0));
+			if (!perft.runReference(maxDepth)) {
+				System.exit(1);
+			}
+			return;
+		}
+		final int depth = Integer.parseInt(operands.get(0));
+		final String fen = operands.size() > 1 ? String.join(" ", operands.subList(1, operands.size())) : FenUtil.STARTING_POSITION;
+		final Board board = FenUtil.createBoard(fen);
+		if (isDivide) {
+			perft.runDivide(board, depth);
+		} else {
+			perft.runCount(board, depth);
+		}
+	}
+
+}
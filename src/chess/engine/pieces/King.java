@@ -1,31 +1,14 @@
 package chess.engine.pieces;
 
-import static chess.engine.board.Move.*;
-
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 import chess.engine.PlayerColor;
 import chess.engine.board.Board;
-import chess.engine.board.BoardUtil;
+import chess.engine.board.LeaperAttacks;
 import chess.engine.board.Move;
-import chess.engine.board.Tile;
 
 public class King extends Piece {
 	
-	final private static int CANDIDATE_MOVES[] = {
-			BoardUtil.positionOf( 1,  1),
-			BoardUtil.positionOf(-1,  1),
-			BoardUtil.positionOf( 1, -1),
-			BoardUtil.positionOf(-1, -1),
-			BoardUtil.positionOf( 1,  0),
-			BoardUtil.positionOf( 0,  1),
-			BoardUtil.positionOf(-1,  0),
-			BoardUtil.positionOf( 0, -1),
-	};
-
 	public King(final PlayerColor c, final int p) {
 		super(c, p, PieceType.KING, true);
 	}
@@ -36,30 +19,12 @@ public class King extends Piece {
 
 	@Override
 	public Collection<Move> getLegalMoves(final Board board) {
-		final List<Move> legalMoves = new ArrayList<>();
-		for (final int offset : CANDIDATE_MOVES) {
-			int candidateCoordinate = this.pieceCoordinate + offset;
-			if (BoardUtil.isValidTileCoordinate(candidateCoordinate)) {
-				if (BoardUtil.testEdgeCases(1, this.pieceCoordinate, offset)) {
-					continue;
-				}
-				final Tile candidateTile = board.getTile(candidateCoordinate);
-				if (!candidateTile.isOccupied()) {
-					legalMoves.add(new NormalMove(board, this, candidateCoordinate));
-				} else {
-					final Piece pieceAtDestination = candidateTile.getPiece();
-					if (this.pieceColor != pieceAtDestination.getPieceColor()) {
-						legalMoves.add(new NormalCapture(board, this, candidateCoordinate, pieceAtDestination));
-					}
-				}
-			}
-		}
-		return Collections.unmodifiableList(legalMoves);
+		return createMoves(board, LeaperAttacks.KING_ATTACKS[this.pieceCoordinate]);
 	}
 
 	@Override
 	public King movePiece(Move move) {
-		return new King(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false);
+		return (King) createPiece(PieceType.KING, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false);
 	}
 	
 }
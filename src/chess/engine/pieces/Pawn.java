@@ -7,19 +7,15 @@ import java.util.List;
 
 import chess.engine.PlayerColor;
 import chess.engine.board.Board;
+import static chess.engine.board.BitBoardUtil.*;
 import static chess.engine.board.BoardUtil.*;
+import chess.engine.board.LeaperAttacks;
 import chess.engine.board.Move;
-import chess.engine.board.Tile;
 import chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
 	
-	private final static int CANDIDATE_MOVES[] = {
-			positionOf(1,  0),
-			positionOf(1,  1),
-			positionOf(1, -1),
-			positionOf(2,  0),
-	};
+	private static final PieceType PROMOTION_TYPES[] = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
 	
 	public Pawn(final PlayerColor c, final int p) {
 		super(c, p, PieceType.PAWN, true);
@@ -32,55 +28,44 @@ public class Pawn extends Piece {
 	@Override
 	public Collection<Move> getLegalMoves(Board board) {
 		final List<Move> legalMoves = new ArrayList<>();
-		for (final int offset : CANDIDATE_MOVES) {
-			int candidateCoordinate = this.pieceCoordinate + this.pieceColor.getDirection() * offset;
-			if (isValidTileCoordinate(candidateCoordinate)) {
-				if (testEdgeCases(1, this.pieceCoordinate, this.pieceColor.getDirection() * offset)) {
-					continue;
-				}
-				final Tile candidateTile = board.getTile(candidateCoordinate);
-				if (offset == positionOf(1,  0) && !candidateTile.isOccupied()) {
-					Move move = new PawnMove(board, this, candidateCoordinate);
-					if (this.pieceColor.isPromotionAllowed(candidateCoordinate)) {
-						legalMoves.add(new PawnPromotion(move, new Queen (this.pieceColor, candidateCoordinate, false)));
-						legalMoves.add(new PawnPromotion(move, new Rook  (this.pieceColor, candidateCoordinate, false)));
-						legalMoves.add(new PawnPromotion(move, new Bishop(this.pieceColor, candidateCoordinate, false)));
-						legalMoves.add(new PawnPromotion(move, new Knight(this.pieceColor, candidateCoordinate, false)));
-					} else {
-						legalMoves.add(move);
-					}
-				}
-				if ((offset == positionOf(1,  1) || offset == positionOf(1, -1))) {
-					if (candidateTile.isOccupied() && candidateTile.getPiece().getPieceColor() != this.pieceColor) {
-						Move move = new PawnCapture(board, this, candidateCoordinate, candidateTile.getPiece());
-						if (this.pieceColor.isPromotionAllowed(candidateCoordinate)) {
-							legalMoves.add(new PawnPromotion(move, new Queen (this.pieceColor, candidateCoordinate, false)));
-							legalMoves.add(new PawnPromotion(move, new Rook  (this.pieceColor, candidateCoordinate, false)));
-							legalMoves.add(new PawnPromotion(move, new Bishop(this.pieceColor, candidateCoordinate, false)));
-							legalMoves.add(new PawnPromotion(move, new Knight(this.pieceColor, candidateCoordinate, false)));
-						} else {
-							legalMoves.add(move);
-						}
-					} else if (board.getEnPassantPawn() != null){
-						int enPassantCoordinate = board.getEnPassantPawn().getCoordinate();
-						for (int i = 1; i <= board.getEnPassantRange(); i++) {
-							enPassantCoordinate += BOARD_FILES * this.pieceColor.getDirection();
-							if (enPassantCoordinate == candidateCoordinate) {
-								legalMoves.add(new EnPassantCapture(board, this, candidateCoordinate, board.getEnPassantPawn()));
-							}
-						}
-					}
-				}
-				if (offset == positionOf(2,  0) && this.canMoveTwice() && !candidateTile.isOccupied() && !board.getTile(this.pieceCoordinate + this.pieceColor.getDirection() * BOARD_FILES).isOccupied()) {
-					legalMoves.add(new DoublePawnMove(board, this, candidateCoordinate));
+		final long emptySquares = ~board.getOccupiedBitBoard();
+		final long push = LeaperAttacks.pawnPushes(this.pieceColor, this.pieceCoordinate) & emptySquares;
+		if (push != EMPTY_BITBOARD) {
+			final int candidateCoordinate = lowestSquare(push);
+			addPawnMove(legalMoves, new PawnMove(board, this, candidateCoordinate));
+			final long doublePush = LeaperAttacks.pawnDoublePushes(this.pieceColor, this.pieceCoordinate) & emptySquares;
+			if (doublePush != EMPTY_BITBOARD && this.isFirstMove) {
+				legalMoves.add(new DoublePawnMove(board, this, lowestSquare(doublePush)));
+			}
+		}
+		final long attacks = LeaperAttacks.pawnAttacks(this.pieceColor, this.pieceCoordinate);
+		final PlayerColor opponent = this.pieceColor == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+		for (long captures = attacks & board.getColorBitBoard(opponent); captures != EMPTY_BITBOARD; captures = clearLowest(captures)) {
+			final int candidateCoordinate = lowestSquare(captures);
+			addPawnMove(legalMoves, new PawnCapture(board, this, candidateCoordinate, board.getPiece(candidateCoordinate)));
+		}
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		if (enPassantPawn != null && enPassantPawn.getPieceColor() == opponent) {
+			int enPassantCoordinate = enPassantPawn.getCoordinate();
+			for (int i = 1; i <= board.getEnPassantRange(); i++) {
+				enPassantCoordinate += BOARD_FILES * this.pieceColor.getDirection();
+				if (isSet(attacks & emptySquares, enPassantCoordinate)) {
+					legalMoves.add(new EnPassantCapture(board, this, enPassantCoordinate, enPassantPawn));
 				}
 			}
 		}
 		return Collections.unmodifiableList(legalMoves);
 	}
 	
-	private boolean canMoveTwice() {
-		return rankOf(this.pieceCoordinate) == (this.getPieceColor() == PlayerColor.WHITE ? BOARD_RANKS - 2 : 1) && this.isFirstMove;
+	private void addPawnMove(final List<Move> legalMoves, final Move move) {
+		final int candidateCoordinate = move.getDestinationCoordinate();
+		if (this.pieceColor.isPromotionAllowed(candidateCoordinate)) {
+			for (final PieceType type : PROMOTION_TYPES) {
+				legalMoves.add(new PawnPromotion(move, createPiece(type, this.pieceColor, candidateCoordinate, false)));
+			}
+		} else {
+			legalMoves.add(move);
+		}
 	}
 	
 	@SuppressWarnings("unused")
@@ -94,7 +79,7 @@ public class Pawn extends Piece {
 	
 	@Override
 	public Pawn movePiece(Move move) {
-		return new Pawn(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false);
+		return (Pawn) createPiece(PieceType.PAWN, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false);
 	}
 	
 }
\ No newline at end of file
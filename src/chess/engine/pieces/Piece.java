@@ -1,10 +1,18 @@
 package chess.engine.pieces;
 
+import static chess.engine.board.BitBoardUtil.*;
+import static chess.engine.board.BoardUtil.*;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import chess.engine.PlayerColor;
 import chess.engine.board.Board;
 import chess.engine.board.Move;
+import chess.engine.board.Move.NormalCapture;
+import chess.engine.board.Move.NormalMove;
 
 public abstract class Piece implements Comparable<Piece>{
 
@@ -13,6 +21,9 @@ public abstract class Piece implements Comparable<Piece>{
 	protected final PieceType pieceType;
 	protected final boolean isFirstMove;
 	private final int cachedHashCode;
+	
+	public static final int PIECE_CACHE_SIZE = PIECE_CODES * BOARD_SQUARES * 2;
+	private static final Piece[] PIECE_CACHE = createPieceCache();
 
 	public Piece(final PlayerColor c, final int p, final PieceType t, boolean b) {
 		this.pieceCoordinate = p;
@@ -22,6 +33,45 @@ public abstract class Piece implements Comparable<Piece>{
 		this.cachedHashCode = computeHashCode();
 	}
 	
+	public static Piece createPiece(final PieceType type, final PlayerColor color, final int coordinate, final boolean isFirstMove) {
+		return PIECE_CACHE[getCacheIndex(type, color, coordinate, isFirstMove)];
+	}
+	
+	public static int getCacheIndex(final PieceType type, final PlayerColor color, final int coordinate, final boolean isFirstMove) {
+		return (pieceCode(color, type) * BOARD_SQUARES + coordinate) * 2 + (isFirstMove ? 1 : 0);
+	}
+	
+	private static Piece[] createPieceCache() {
+		final Piece[] cache = new Piece[PIECE_CACHE_SIZE];
+		for (final PieceType type : PIECE_TYPES) {
+			for (final PlayerColor color : COLORS) {
+				for (int coordinate = 0; coordinate < BOARD_SQUARES; coordinate++) {
+					for (final boolean isFirstMove : new boolean[] {false, true}) {
+						cache[getCacheIndex(type, color, coordinate, isFirstMove)] = newPiece(type, color, coordinate, isFirstMove);
+					}
+				}
+			}
+		}
+		return cache;
+	}
+	
+	private static Piece newPiece(final PieceType type, final PlayerColor color, final int coordinate, final boolean isFirstMove) {
+		switch (type) {
+		case PAWN:
+			return new Pawn(color, coordinate, isFirstMove);
+		case KNIGHT:
+			return new Knight(color, coordinate, isFirstMove);
+		case BISHOP:
+			return new Bishop(color, coordinate, isFirstMove);
+		case ROOK:
+			return new Rook(color, coordinate, isFirstMove);
+		case QUEEN:
+			return new Queen(color, coordinate, isFirstMove);
+		default:
+			return new King(color, coordinate, isFirstMove);
+		}
+	}
+	
 	public abstract Collection<Move> getLegalMoves(final Board board);
 	
 	public PlayerColor getPieceColor() {
@@ -42,6 +92,21 @@ public abstract class Piece implements Comparable<Piece>{
 	
 	public abstract Piece movePiece(Move move);
 	
+	protected Collection<Move> createMoves(final Board board, final long attacks) {
+		long targets = attacks & ~board.getColorBitBoard(this.pieceColor);
+		final List<Move> legalMoves = new ArrayList<>(Long.bitCount(targets));
+		for (; targets != EMPTY_BITBOARD; targets = clearLowest(targets)) {
+			final int candidateCoordinate = lowestSquare(targets);
+			final Piece pieceAtDestination = board.getPiece(candidateCoordinate);
+			if (pieceAtDestination == null) {
+				legalMoves.add(new NormalMove(board, this, candidateCoordinate));
+			} else {
+				legalMoves.add(new NormalCapture(board, this, candidateCoordinate, pieceAtDestination));
+			}
+		}
+		return Collections.unmodifiableList(legalMoves);
+	}
+	
 	@Override
 	public String toString() {
 		return this.pieceColor == PlayerColor.WHITE ? pieceType.toString() : pieceType.toString().toLowerCase();
@@ -6,8 +6,12 @@ import java.util.Collections;
 import java.util.List;
 
 import chess.engine.PlayerColor;
+import chess.engine.board.BitBoardUtil;
 import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.LegalMoveGenerator;
 import chess.engine.board.Move;
+import chess.engine.board.MoveList;
 import chess.engine.board.Tile;
 import chess.engine.board.Move.*;
 import chess.engine.pieces.*;
@@ -15,50 +19,72 @@ import chess.engine.pieces.*;
 public abstract class Player {
 	
 	protected final Board board;
-	protected final King king;
-	protected final Collection<Move> legalMoves;
-	private final boolean isInCheck;
+	private volatile King king;
+	private volatile Collection<Move> legalMoves;
+	private volatile MoveList strictlyLegalMoves;
 	
-	public Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+	public Player(final Board board) {
 		this.board = board;
-		this.king = establishKing();
-		this.isInCheck = !Player.getAttacksOnTile(this.king.getCoordinate(), opponentMoves).isEmpty();
-		legalMoves.addAll(getCastlingMoves(legalMoves, opponentMoves));
-		this.legalMoves = Collections.unmodifiableCollection(legalMoves);
-	}
-
-	protected static Collection<Move> getAttacksOnTile(final int coordinate, final Collection<Move> moves) {
-		final List<Move> attackMoves = new ArrayList<>();
-		for (final Move move : moves) {
-			if (coordinate == move.getDestinationCoordinate()) {
-				attackMoves.add(move);
-			}
-		}
-		return Collections.unmodifiableList(attackMoves);
 	}
 
 	protected King establishKing() {
-		for (final Piece piece : getPieces()) {
-			if (piece.getPieceType() == PieceType.KING) {
-				return (King) piece;
-			}
+		final long kings = this.board.getPieceBitBoard(getColor(), PieceType.KING);
+		if (kings == BitBoardUtil.EMPTY_BITBOARD) {
+			throw new RuntimeException("Board does not have king");
 		}
-		throw new RuntimeException("Board does not have king");
+		return (King) this.board.getPiece(BitBoardUtil.lowestSquare(kings));
 	}
 	
 	public King getKing() {
-		return this.king;
+		King result = this.king;
+		if (result == null) {
+			synchronized (this) {
+				result = this.king;
+				if (result == null) {
+					result = establishKing();
+					this.king = result;
+				}
+			}
+		}
+		return result;
 	}
 	
 	public Collection<Move> getLegalMoves() {
-		return this.legalMoves;
+		Collection<Move> result = this.legalMoves;
+		if (result == null) {
+			synchronized (this) {
+				result = this.legalMoves;
+				if (result == null) {
+					final List<Move> moves = new ArrayList<>(this.board.getPieceMoves(getColor()));
+					moves.addAll(getCastlingMoves(moves));
+					result = Collections.unmodifiableCollection(moves);
+					this.legalMoves = result;
+				}
+			}
+		}
+		return result;
+	}
+	
+	private MoveList getStrictlyLegalMoves() {
+		MoveList result = this.strictlyLegalMoves;
+		if (result == null) {
+			synchronized (this) {
+				result = this.strictlyLegalMoves;
+				if (result == null) {
+					result = new MoveList();
+					LegalMoveGenerator.generateMoves(this.board, getColor(), result);
+					this.strictlyLegalMoves = result;
+				}
+			}
+		}
+		return result;
 	}
 	
 	public Collection<Move> getLegalMovesNoCheck() {
-		final List<Move> moves = new ArrayList<>();
-		for (Move move : this.legalMoves) {
-			final MoveTransition transition = this.makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
+		final MoveList legalMoves = getStrictlyLegalMoves();
+		final List<Move> moves = new ArrayList<>(legalMoves.size());
+		for (Move move : getLegalMoves()) {
+			if (legalMoves.contains(CompactMove.of(move))) {
 				moves.add(move);
 			}
 		}
@@ -66,53 +92,45 @@ public abstract class Player {
 	}
 	
 	public boolean isMoveLegal(final Move move) {
-		return this.legalMoves.contains(move);
+		return move.getMovedPiece() != null && move.getMovedPiece().getPieceColor() == getColor() &&
+			   this.board.getMoveIndex().contains(move);
 	}
 	
 	public boolean isInCheck() {
-		return this.isInCheck;
+		return this.board.isSquareAttacked(getKing().getCoordinate(), getOpponent().getColor());
 	}
 	
 	public boolean isInCheckmate() {
-		return  this.isInCheck && !this.hasEscapeMoves();
+		return  this.isInCheck() && !this.hasEscapeMoves();
 	}
 	
 	public boolean isInStalemate() {
-		return !this.isInCheck && !this.hasEscapeMoves();
+		return !this.isInCheck() && !this.hasEscapeMoves();
 	}
 	
 	protected boolean hasEscapeMoves() {
-		for (final Move move : legalMoves) {
-			final MoveTransition transition = makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
-				return true;
-			}
-		}
-		return false;
+		return !getStrictlyLegalMoves().isEmpty();
 	}
 	
 	public MoveTransition makeMove(final Move move) {
 		if (!isMoveLegal(move)) {
 			return new MoveTransition(this.board, move, MoveStatus.ILLEGAL);
 		}
-		final Board transitionBoard = move.execute();
-		final Collection<Move> kingAttacks = Player.getAttacksOnTile(transitionBoard.getCurrentPlayer().getOpponent().getKing().getCoordinate(), 
-																	 transitionBoard.getCurrentPlayer().getLegalMoves());
-		if (!kingAttacks.isEmpty()) {
+		if (!getStrictlyLegalMoves().contains(CompactMove.of(move))) {
 			return new MoveTransition(this.board, move, MoveStatus.LEAVES_IN_CHECK);
 		}
-		return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+		return new MoveTransition(move.execute(), move, MoveStatus.DONE);
 	}
 	
 	public abstract Collection<Piece> getPieces();
 	public abstract PlayerColor getColor();
 	public abstract Player getOpponent();
-	protected abstract Collection<Move> getCastlingMoves(Collection<Move> legalMoves, Collection<Move> opponentMoves);
+	protected abstract Collection<Move> getCastlingMoves(Collection<Move> legalMoves);
 	
 	public static class WhitePlayer extends Player {
 
-		public WhitePlayer(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
-			super(board, legalMoves, opponentMoves);
+		public WhitePlayer(final Board board) {
+			super(board);
 		}
 
 		@Override
@@ -131,16 +149,16 @@ public abstract class Player {
 		}
 
 		@Override
-		protected Collection<Move> getCastlingMoves(final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+		protected Collection<Move> getCastlingMoves(final Collection<Move> legalMoves) {
 			final List<Move> castlingMoves = new ArrayList<>();
-			if (this.king.isFirstMove() && !this.isInCheck()) {
+			if (getKing().isFirstMove() && !this.isInCheck()) {
 				if (!this.board.getTile(61).isOccupied() && !this.board.getTile(62).isOccupied()) {
 					final Tile rookTile = this.board.getTile(63);
 					if (rookTile.isOccupied() && 
 							rookTile.getPiece().isFirstMove() && 
 							rookTile.getPiece().getPieceType() == PieceType.ROOK && 
-							Player.getAttacksOnTile(61, opponentMoves).isEmpty()) {
-						castlingMoves.add(new KingsideCastlingMove(this.board, this.king, 62, (Rook) rookTile.getPiece(), 61));
+							!this.board.isSquareAttacked(61, getOpponent().getColor())) {
+						castlingMoves.add(new KingsideCastlingMove(this.board, getKing(), 62, (Rook) rookTile.getPiece(), 61));
 					}
 				}
 				if (!this.board.getTile(57).isOccupied() && !this.board.getTile(58).isOccupied() && !this.board.getTile(59).isOccupied()) {
@@ -148,8 +166,8 @@ public abstract class Player {
 					if (rookTile.isOccupied() && 
 							rookTile.getPiece().isFirstMove() && 
 							rookTile.getPiece().getPieceType() == PieceType.ROOK && 
-							Player.getAttacksOnTile(59, opponentMoves).isEmpty()) {
-						castlingMoves.add(new QueensideCastlingMove(this.board, this.king, 58, (Rook) rookTile.getPiece(), 59));
+							!this.board.isSquareAttacked(59, getOpponent().getColor())) {
+						castlingMoves.add(new QueensideCastlingMove(this.board, getKing(), 58, (Rook) rookTile.getPiece(), 59));
 					}
 				}
 			}
@@ -165,8 +183,8 @@ public abstract class Player {
 	
 	public static class BlackPlayer extends Player {
 
-		public BlackPlayer(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
-			super(board, legalMoves, opponentMoves);
+		public BlackPlayer(final Board board) {
+			super(board);
 		}
 
 		@Override
@@ -185,16 +203,16 @@ public abstract class Player {
 		}
 
 		@Override
-		protected Collection<Move> getCastlingMoves(final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+		protected Collection<Move> getCastlingMoves(final Collection<Move> legalMoves) {
 			final List<Move> castlingMoves = new ArrayList<>();
-			if (this.king.isFirstMove() && !this.isInCheck()) {
+			if (getKing().isFirstMove() && !this.isInCheck()) {
 				if (!this.board.getTile(5).isOccupied() && !this.board.getTile(6).isOccupied()) {
 					final Tile rookTile = this.board.getTile(7);
 					if (rookTile.isOccupied() && 
 							rookTile.getPiece().isFirstMove() && 
 							rookTile.getPiece().getPieceType() == PieceType.ROOK && 
-							Player.getAttacksOnTile(5, opponentMoves).isEmpty()) {
-						castlingMoves.add(new KingsideCastlingMove(this.board, this.king, 6, (Rook) rookTile.getPiece(), 5));
+							!this.board.isSquareAttacked(5, getOpponent().getColor())) {
+						castlingMoves.add(new KingsideCastlingMove(this.board, getKing(), 6, (Rook) rookTile.getPiece(), 5));
 					}
 				}
 				if (!this.board.getTile(1).isOccupied() && !this.board.getTile(2).isOccupied() && !this.board.getTile(3).isOccupied()) {
@@ -202,8 +220,8 @@ public abstract class Player {
 					if (rookTile.isOccupied() && 
 							rookTile.getPiece().isFirstMove() && 
 							rookTile.getPiece().getPieceType() == PieceType.ROOK && 
-							Player.getAttacksOnTile(3, opponentMoves).isEmpty()) {
-						castlingMoves.add(new QueensideCastlingMove(this.board, this.king, 2, (Rook) rookTile.getPiece(), 3));
+							!this.board.isSquareAttacked(3, getOpponent().getColor())) {
+						castlingMoves.add(new QueensideCastlingMove(this.board, getKing(), 2, (Rook) rookTile.getPiece(), 3));
 					}
 				}
 			}
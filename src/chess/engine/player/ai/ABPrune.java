@@ -1,16 +1,30 @@
 package chess.engine.player.ai;
 
+import java.util.concurrent.CompletableFuture;
+
 import chess.engine.PlayerColor;
 import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
 import chess.engine.board.Move;
-import chess.engine.player.MoveTransition;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
 
 public class ABPrune implements MoveStrategy {
 
 	private final BoardEvaluator evaluator;
+	private final TranspositionTable table;
+	private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+	private SearchStatistics statistics = new SearchStatistics();
+	private double bestScore = Double.NaN;
+	private AlphaBetaSearch quiescence;
 	
 	public ABPrune() {
+		this(new TranspositionTable());
+	}
+	
+	public ABPrune(final TranspositionTable table) {
 		this.evaluator = new StandardBoardEvaluator();
+		this.table = table;
 	}
 	
 	@Override
@@ -18,25 +32,43 @@ public class ABPrune implements MoveStrategy {
 		return "Alpha Beta Pruning";
 	}
 	
-	private static boolean isEndGameScenario(final Board board) {
-		return board.getCurrentPlayer().isInCheckmate() || board.getCurrentPlayer().isInStalemate();
+	// the counters of the last execute call
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+	
+	// the same fixed-depth search as execute, reporting the score and counters it produced
+	@Override
+	public CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> {
+			final Move move = execute(board, request.getMaxDepth());
+			final SearchResult result = new SearchResult(move, this.bestScore, request.getMaxDepth(), this.statistics);
+			request.getListener().onSearchCompleted(result);
+			return result;
+		});
+	}
+	
+	private static boolean isEndGameScenario(final SearchBoard board) {
+		return !board.hasLegalMoves();
 	}
 	
 	@Override
 	public Move execute(Board board, int depth) {
-		final long startTime = System.currentTimeMillis();
+		this.statistics = new SearchStatistics();
 		Move bestMove = null;
 		double highestSeen = -Double.MAX_VALUE;
 		double lowestSeen = Double.MAX_VALUE;
 		double currentValue;
 		System.out.println(board.getCurrentPlayer() + " thinking with depth " + depth);
-		int numMoves = board.getCurrentPlayer().getLegalMoves().size();
+		this.table.newSearch();
+		final SearchBoard searchBoard = new SearchBoard(board);
+		this.quiescence = new AlphaBetaSearch(searchBoard, this.evaluator, this.table, this.statistics);
+		final MoveList[] moveLists = MoveList.createStack(Math.max(depth, 1));
 		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
+			if (searchBoard.makeMove(CompactMove.of(move))) {
 				currentValue = board.getCurrentPlayer().getColor() == PlayerColor.WHITE ?
-							   alphabeta(transition.getTransitionBoard(), depth - 1, -highestSeen, lowestSeen, false) :
-				   			   alphabeta(transition.getTransitionBoard(), depth - 1, -highestSeen, lowestSeen, true);
+							   alphabeta(searchBoard, moveLists, depth - 1, highestSeen, lowestSeen, false) :
+				   			   alphabeta(searchBoard, moveLists, depth - 1, highestSeen, lowestSeen, true);
 				if (board.getCurrentPlayer().getColor() == PlayerColor.WHITE && currentValue > highestSeen) {
 					highestSeen = currentValue;
 					bestMove = move;
@@ -45,51 +77,112 @@ public class ABPrune implements MoveStrategy {
 					bestMove = move;
 				}
 			}
+			searchBoard.unmakeMove();
 		}
-		final long executionTime = System.currentTimeMillis() - startTime;
+		this.statistics.completeDepth(depth);
+		this.statistics.finish(this.table);
+		this.bestScore = board.getCurrentPlayer().getColor() == PlayerColor.WHITE ? highestSeen : lowestSeen;
 		return bestMove;
 	}
 	
-	private double alphabeta(final Board board, final int depth, double a, double b, final boolean isMaximizingPlayer) {
-		if (depth <= 0 || isEndGameScenario(board)) {
+	private double alphabeta(final SearchBoard board, final MoveList[] moveLists, final int depth, double a, double b, final boolean isMaximizingPlayer) {
+		if (depth <= 0) {
+			return this.quiescence.quiesce(a, b, isMaximizingPlayer);
+		}
+		this.statistics.nodes++;
+		if (isEndGameScenario(board)) {
 			return this.evaluator.evaluate(board, depth);
 		}
+		final long key = board.getZobristKey();
+		int hashMove = CompactMove.NULL_MOVE;
+		if (this.table.probe(key, this.entry)) {
+			hashMove = this.entry.getMove();
+			if (this.entry.getDepth() >= depth) {
+				final double score = this.entry.getScore();
+				final int bound = this.entry.getBound();
+				if (bound == TranspositionTable.EXACT ||
+					(bound == TranspositionTable.LOWER_BOUND && score >= b) ||
+					(bound == TranspositionTable.UPPER_BOUND && score <= a)) {
+					return score;
+				}
+			}
+		}
+		final double alpha = a;
+		final double beta = b;
+		final MoveList moves = moveLists[depth];
+		board.generateMoves(moves);
+		moveToFront(moves, hashMove);
+		int bestMove = CompactMove.NULL_MOVE;
+		int legalMoves = 0;
+		final double bestSeen;
 		if (isMaximizingPlayer) {
 			double highestSeen = -Double.MAX_VALUE;
-			for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-				final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-				if (transition.getMoveStatus().isDone()) {
-					double value = alphabeta(transition.getTransitionBoard(), depth - 1, a, b, false);
+			for (int i = 0; i < moves.size(); i++) {
+				if (board.makeMove(moves.get(i))) {
+					legalMoves++;
+					double value = alphabeta(board, moveLists, depth - 1, a, b, false);
+					board.unmakeMove();
 					if (value > highestSeen) {
 						highestSeen = value;
+						bestMove = moves.get(i);
 					}
 					if (highestSeen >= b) {
+						countCutoff(legalMoves);
 						break;
 					}
 					if (highestSeen > a) {
 						a = highestSeen;
 					}
+				} else {
+					board.unmakeMove();
 				}
 			}
-			return highestSeen;
+			bestSeen = highestSeen;
 		} else {
 			double lowestSeen = Double.MAX_VALUE;
-			for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-				final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-				if (transition.getMoveStatus().isDone()) {
-					double value = alphabeta(transition.getTransitionBoard(), depth - 1, a, b, true);
+			for (int i = 0; i < moves.size(); i++) {
+				if (board.makeMove(moves.get(i))) {
+					legalMoves++;
+					double value = alphabeta(board, moveLists, depth - 1, a, b, true);
+					board.unmakeMove();
 					if (value < lowestSeen) {
 						lowestSeen = value;
+						bestMove = moves.get(i);
 					}
 					if (lowestSeen <= a) {
+						countCutoff(legalMoves);
 						break;
 					}
 					if (lowestSeen < b) {
 						b = lowestSeen;
 					}
+				} else {
+					board.unmakeMove();
 				}
 			}
-			return lowestSeen;
+			bestSeen = lowestSeen;
+		}
+		this.table.store(key, bestMove, depth, bestSeen <= alpha ? TranspositionTable.UPPER_BOUND :
+				bestSeen >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT, bestSeen);
+		return bestSeen;
+	}
+	
+	private void countCutoff(final int legalMoves) {
+		this.statistics.betaCutoffs++;
+		if (legalMoves == 1) {
+			this.statistics.firstMoveCutoffs++;
+		}
+	}
+	
+	private static void moveToFront(final MoveList moves, final int move) {
+		if (move == CompactMove.NULL_MOVE) {
+			return;
+		}
+		for (int i = 0; i < moves.size(); i++) {
+			if (moves.get(i) == move) {
+				moves.swap(0, i);
+				return;
+			}
 		}
 	}
 
@@ -0,0 +1,463 @@
+package chess.engine.player.ai;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.engine.board.BitBoardUtil;
+import chess.engine.board.CompactMove;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+import chess.engine.pieces.PieceType;
+
+public final class AlphaBetaSearch {
+
+	private static final int LIMIT_CHECK_INTERVAL = 1024;
+	private static final int MAX_QUIESCENCE_PLY = 64;
+	// a capture that cannot lift the stand-pat score to within this margin of the window is skipped
+	private static final double DELTA_MARGIN = 2.0;
+	private static final double PROMOTION_GAIN = PieceType.QUEEN.getValue() - PieceType.PAWN.getValue();
+	private static final int NULL_MOVE_MIN_DEPTH = 3;
+	private static final int NULL_MOVE_DEEP_DEPTH = 7;
+	private static final int LATE_MOVE_MIN_DEPTH = 3;
+	private static final int LATE_MOVE_THRESHOLD = 3;
+
+	private final SearchBoard board;
+	private final BoardEvaluator evaluator;
+	private final TranspositionTable table;
+	private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+	private final MoveHistory history = new MoveHistory();
+	private MovePicker[] pickers = new MovePicker[0];
+	// triangular principal variation table indexed by ply from the node the search was started on
+	private int[][] pvTable = new int[0][];
+	private int[] pvLengths = new int[0];
+	private int rootPly;
+	private final MoveList[] quiescenceMoves = MoveList.createStack(MAX_QUIESCENCE_PLY);
+	private final int[][] quiescenceScores = new int[MAX_QUIESCENCE_PLY][SearchBoard.MAX_MOVES];
+	private long deadline = SearchRequest.NO_LIMIT;
+	private long maxNodes = SearchRequest.NO_LIMIT;
+	private CancellationToken cancellationToken;
+	// nodes of every search working on the same request, added to in batches and checked against maxNodes as a whole
+	private AtomicLong sharedNodes;
+	private int unsharedNodes;
+	private boolean isAborted;
+	private boolean isNullMovePruning = true;
+	private boolean isLateMoveReductions = true;
+	private final SearchStatistics statistics;
+
+	public AlphaBetaSearch(final SearchBoard board, final BoardEvaluator evaluator, final TranspositionTable table) {
+		this(board, evaluator, table, new SearchStatistics());
+	}
+
+	public AlphaBetaSearch(final SearchBoard board, final BoardEvaluator evaluator, final TranspositionTable table,
+						   final SearchStatistics statistics) {
+		this.board = board;
+		this.evaluator = evaluator;
+		this.table = table;
+		this.statistics = statistics;
+	}
+
+	public SearchBoard getBoard() {
+		return this.board;
+	}
+
+	public long getNodes() {
+		return this.statistics.getNodes();
+	}
+
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	public boolean isAborted() {
+		return this.isAborted;
+	}
+
+	// deadline in System.nanoTime terms; an aborted search returns meaningless scores
+	public void setLimits(final long deadline, final long maxNodes, final CancellationToken cancellationToken) {
+		this.deadline = deadline;
+		this.maxNodes = maxNodes;
+		this.cancellationToken = cancellationToken;
+		// a search that starts with the shared total already past the limit stops at once
+		this.isAborted = this.sharedNodes != null && shareNodes() >= maxNodes;
+	}
+	
+	public void setSharedNodes(final AtomicLong sharedNodes) {
+		this.sharedNodes = sharedNodes;
+	}
+
+	public void clearLimits() {
+		setLimits(SearchRequest.NO_LIMIT, SearchRequest.NO_LIMIT, null);
+	}
+
+	public void setSelectivity(final boolean isNullMovePruning, final boolean isLateMoveReductions) {
+		this.isNullMovePruning = isNullMovePruning;
+		this.isLateMoveReductions = isLateMoveReductions;
+	}
+
+	public double search(final int depth, final double a, final double b, final boolean isMaximizingPlayer) {
+		prepare(depth);
+		final double score = alphabeta(depth, a, b, isMaximizingPlayer, true);
+		// many short searches would otherwise each keep up to a batch of nodes out of the shared total
+		if (this.sharedNodes != null) {
+			shareNodes();
+		}
+		return score;
+	}
+
+	// searches the given legal root moves in order; the best move heads the principal variation, and an aborted
+	// search leaves the line of the best root move searched completely
+	public double searchRoot(final MoveList rootMoves, final int depth, double a, double b, final boolean isMaximizingPlayer) {
+		prepare(depth);
+		final SearchBoard board = this.board;
+		final double alpha = a;
+		final double beta = b;
+		int legalMoves = 0;
+		int bestMove = CompactMove.NULL_MOVE;
+		double bestSeen = isMaximizingPlayer ? -Double.MAX_VALUE : Double.MAX_VALUE;
+		for (int i = 0; i < rootMoves.size(); i++) {
+			final int move = rootMoves.get(i);
+			if (!board.makeMove(move)) {
+				board.unmakeMove();
+				continue;
+			}
+			legalMoves++;
+			final double value = searchMove(depth, a, b, isMaximizingPlayer, legalMoves, 0);
+			board.unmakeMove();
+			if (this.isAborted) {
+				return bestSeen;
+			}
+			if (isMaximizingPlayer ? value > bestSeen : value < bestSeen) {
+				bestSeen = value;
+				bestMove = move;
+				updatePrincipalVariation(0, move);
+			}
+			if (isMaximizingPlayer ? bestSeen >= b : bestSeen <= a) {
+				break;
+			}
+			if (isMaximizingPlayer) {
+				a = Math.max(a, bestSeen);
+			} else {
+				b = Math.min(b, bestSeen);
+			}
+		}
+		if (bestMove != CompactMove.NULL_MOVE) {
+			this.table.store(board.getZobristKey(), bestMove, depth, bestSeen <= alpha ? TranspositionTable.UPPER_BOUND :
+					bestSeen >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT, bestSeen);
+		}
+		return bestSeen;
+	}
+
+	public int probeHashMove() {
+		return this.table.probe(this.board.getZobristKey(), this.entry) ? this.entry.getMove() : CompactMove.NULL_MOVE;
+	}
+
+	public double quiesce(final double a, final double b, final boolean isMaximizingPlayer) {
+		return quiesce(a, b, isMaximizingPlayer, 0);
+	}
+
+	// for callers splitting the tree themselves: the score of a null-move cutoff at the current position, NaN when there is none
+	public double probeNullMove(final int depth, final double a, final double b, final boolean isMaximizingPlayer) {
+		if (!this.isNullMovePruning || depth < NULL_MOVE_MIN_DEPTH || this.board.isInCheck() ||
+			!this.board.hasNonPawnMaterial(this.board.getColorToMove())) {
+			return Double.NaN;
+		}
+		prepare(depth);
+		final double score = nullMoveSearch(depth, a, b, isMaximizingPlayer);
+		return !this.isAborted && (isMaximizingPlayer ? score >= b : score <= a) ? score : Double.NaN;
+	}
+
+	// searchedMoves counts the moves before this one; only quiet moves that do not give check are reduced
+	public int getLateMoveReduction(final int move, final int depth, final int searchedMoves, final boolean isInCheck) {
+		return this.isLateMoveReductions && depth >= LATE_MOVE_MIN_DEPTH && searchedMoves >= LATE_MOVE_THRESHOLD && !isInCheck &&
+			   !CompactMove.isCapture(move) && !CompactMove.isPromotion(move) && !this.board.givesCheck(move) ? 1 : 0;
+	}
+
+	// the line from the node of the last search or searchRoot call
+	public void getPrincipalVariation(final MoveList pv) {
+		pv.clear();
+		for (int i = 0; i < this.pvLengths[0]; i++) {
+			pv.add(this.pvTable[0][i]);
+		}
+	}
+
+	private void prepare(final int depth) {
+		if (this.pickers.length <= depth) {
+			this.pickers = MovePicker.createStack(this.board, this.history, depth + 1);
+			this.pvTable = new int[depth + 1][depth + 1];
+			this.pvLengths = new int[depth + 1];
+		}
+		this.rootPly = this.board.getPly();
+		this.pvLengths[0] = 0;
+	}
+
+	private void updatePrincipalVariation(final int ply, final int move) {
+		final int[] line = this.pvTable[ply];
+		final int childLength = this.pvLengths[ply + 1];
+		line[0] = move;
+		System.arraycopy(this.pvTable[ply + 1], 0, line, 1, childLength);
+		this.pvLengths[ply] = childLength + 1;
+	}
+
+	// the first move gets the full window; later moves are probed with a zero window around the bound to beat,
+	// first at the reduced depth, and only a move that beats it is searched again
+	private double searchMove(final int depth, final double a, final double b, final boolean isMaximizingPlayer,
+							  final int legalMoves, final int reduction) {
+		if (legalMoves == 1) {
+			return alphabeta(depth - 1, a, b, !isMaximizingPlayer, true);
+		}
+		final double zeroA = isMaximizingPlayer ? a : Math.nextDown(b);
+		final double zeroB = isMaximizingPlayer ? Math.nextUp(a) : b;
+		double value = alphabeta(depth - 1 - reduction, zeroA, zeroB, !isMaximizingPlayer, true);
+		if (reduction > 0) {
+			this.statistics.reductions++;
+			if (!this.isAborted && (isMaximizingPlayer ? value > a : value < b)) {
+				this.statistics.reSearches++;
+				value = alphabeta(depth - 1, zeroA, zeroB, !isMaximizingPlayer, true);
+			}
+		}
+		if (!this.isAborted && value > a && value < b) {
+			this.statistics.pvReSearches++;
+			value = alphabeta(depth - 1, a, b, !isMaximizingPlayer, true);
+		}
+		return value;
+	}
+
+	// adds the nodes not yet counted to the shared total and returns it
+	private long shareNodes() {
+		final long nodes = this.sharedNodes.addAndGet(this.unsharedNodes);
+		this.unsharedNodes = 0;
+		return nodes;
+	}
+
+	private boolean checkLimits() {
+		final long nodes = this.statistics.getNodes();
+		if (nodes >= this.maxNodes) {
+			this.isAborted = true;
+		} else if (this.sharedNodes != null && ++this.unsharedNodes == LIMIT_CHECK_INTERVAL) {
+			this.unsharedNodes = 0;
+			if (this.sharedNodes.addAndGet(LIMIT_CHECK_INTERVAL) >= this.maxNodes) {
+				this.isAborted = true;
+			}
+		}
+		if (!this.isAborted && nodes % LIMIT_CHECK_INTERVAL == 0) {
+			if ((this.cancellationToken != null && this.cancellationToken.isCancelled()) ||
+				(this.deadline != SearchRequest.NO_LIMIT && System.nanoTime() >= this.deadline)) {
+				this.isAborted = true;
+			}
+		}
+		return this.isAborted;
+	}
+
+	private void countCutoff(final int move, final int legalMoves, final int depth) {
+		this.statistics.betaCutoffs++;
+		if (legalMoves == 1) {
+			this.statistics.firstMoveCutoffs++;
+		}
+		if (!CompactMove.isCapture(move) && !CompactMove.isPromotion(move)) {
+			this.history.addCutoff(move, this.board.getPly(), depth);
+		}
+	}
+
+	private double alphabeta(final int depth, double a, double b, final boolean isMaximizingPlayer, final boolean isNullMoveAllowed) {
+		final int ply = this.board.getPly() - this.rootPly;
+		this.pvLengths[ply] = 0;
+		if (depth <= 0) {
+			return quiesce(a, b, isMaximizingPlayer, 0);
+		}
+		this.statistics.nodes++;
+		if (checkLimits()) {
+			return 0;
+		}
+		final SearchBoard board = this.board;
+		final long key = board.getZobristKey();
+		int hashMove = CompactMove.NULL_MOVE;
+		if (this.table.probe(key, this.entry)) {
+			hashMove = this.entry.getMove();
+			// nodes inside an open window are searched anyway so the principal variation is not cut short at a table hit
+			if (this.entry.getDepth() >= depth && Math.nextUp(a) >= b) {
+				final double score = this.entry.getScore();
+				final int bound = this.entry.getBound();
+				if (bound == TranspositionTable.EXACT ||
+					(bound == TranspositionTable.LOWER_BOUND && score >= b) ||
+					(bound == TranspositionTable.UPPER_BOUND && score <= a)) {
+					return score;
+				}
+			}
+		}
+		final boolean isInCheck = board.isInCheck();
+		if (this.isNullMovePruning && isNullMoveAllowed && !isInCheck && depth >= NULL_MOVE_MIN_DEPTH &&
+			board.hasNonPawnMaterial(board.getColorToMove())) {
+			final double score = nullMoveSearch(depth, a, b, isMaximizingPlayer);
+			if (this.isAborted) {
+				return 0;
+			}
+			if (isMaximizingPlayer ? score >= b : score <= a) {
+				this.statistics.nullMoveCutoffs++;
+				return score;
+			}
+		}
+		final double alpha = a;
+		final double beta = b;
+		final MovePicker picker = this.pickers[depth];
+		picker.reset(hashMove, board.getPly());
+		int legalMoves = 0;
+		int bestMove = CompactMove.NULL_MOVE;
+		double bestSeen = isMaximizingPlayer ? -Double.MAX_VALUE : Double.MAX_VALUE;
+		for (int move = picker.nextMove(); move != CompactMove.NULL_MOVE; move = picker.nextMove()) {
+			// quiet moves ordered behind the hash move, captures and killers are searched one ply shallower first
+			final int reduction = picker.getStage() == MovePicker.QUIETS ? getLateMoveReduction(move, depth, legalMoves, isInCheck) : 0;
+			if (!board.makeMove(move)) {
+				board.unmakeMove();
+				continue;
+			}
+			legalMoves++;
+			final double value = searchMove(depth, a, b, isMaximizingPlayer, legalMoves, reduction);
+			board.unmakeMove();
+			if (this.isAborted) {
+				return 0;
+			}
+			if (isMaximizingPlayer) {
+				if (value > bestSeen) {
+					bestSeen = value;
+					bestMove = move;
+					updatePrincipalVariation(ply, move);
+				}
+				if (bestSeen >= b) {
+					countCutoff(move, legalMoves, depth);
+					break;
+				}
+				if (bestSeen > a) {
+					a = bestSeen;
+				}
+			} else {
+				if (value < bestSeen) {
+					bestSeen = value;
+					bestMove = move;
+					updatePrincipalVariation(ply, move);
+				}
+				if (bestSeen <= a) {
+					countCutoff(move, legalMoves, depth);
+					break;
+				}
+				if (bestSeen < b) {
+					b = bestSeen;
+				}
+			}
+		}
+		// no legal move means mate or stalemate, which the evaluator scores
+		if (legalMoves == 0) {
+			final double score = this.evaluator.evaluate(board, depth);
+			this.table.store(key, CompactMove.NULL_MOVE, depth, TranspositionTable.EXACT, score);
+			return score;
+		}
+		this.table.store(key, bestMove, depth, bestSeen <= alpha ? TranspositionTable.UPPER_BOUND :
+				bestSeen >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT, bestSeen);
+		return bestSeen;
+	}
+
+	// passes the turn and searches a reduced null window; a fail-high is confirmed by a reduced search of our own moves,
+	// which keeps zugzwang positions from being cut off on the null move alone
+	private double nullMoveSearch(final int depth, final double a, final double b, final boolean isMaximizingPlayer) {
+		final int reduction = depth >= NULL_MOVE_DEEP_DEPTH ? 3 : 2;
+		this.board.makeNullMove();
+		final double score = isMaximizingPlayer ?
+							 alphabeta(depth - 1 - reduction, Math.nextDown(b), b, false, false) :
+							 alphabeta(depth - 1 - reduction, a, Math.nextUp(a), true, false);
+		this.board.unmakeMove();
+		if (this.isAborted || (isMaximizingPlayer ? score < b : score > a)) {
+			return score;
+		}
+		return alphabeta(depth - reduction, a, b, isMaximizingPlayer, false);
+	}
+
+	// captures and queen promotions only, standing pat on the static evaluation
+	private double quiesce(double a, double b, final boolean isMaximizingPlayer, final int ply) {
+		this.statistics.quiescenceNodes++;
+		if (checkLimits()) {
+			return 0;
+		}
+		final SearchBoard board = this.board;
+		final double standPat = this.evaluator.evaluate(board, 0);
+		if (ply >= MAX_QUIESCENCE_PLY) {
+			return standPat;
+		}
+		if (isMaximizingPlayer) {
+			if (standPat >= b) {
+				return standPat;
+			}
+			a = Math.max(a, standPat);
+		} else {
+			if (standPat <= a) {
+				return standPat;
+			}
+			b = Math.min(b, standPat);
+		}
+		final MoveList moves = this.quiescenceMoves[ply];
+		final int[] scores = this.quiescenceScores[ply];
+		board.generateTacticalMoves(moves);
+		for (int i = 0; i < moves.size(); i++) {
+			scores[i] = MovePicker.mvvLva(board, moves.get(i));
+		}
+		double bestSeen = standPat;
+		for (int i = 0; i < moves.size(); i++) {
+			selectBest(moves, scores, i);
+			final int move = moves.get(i);
+			if (CompactMove.isPromotion(move) && CompactMove.promotion(move) != PieceType.QUEEN) {
+				continue;
+			}
+			final PieceType captured = CompactMove.captured(move);
+			final double gain = (captured == null ? 0.0 : captured.getValue()) + (CompactMove.isPromotion(move) ? PROMOTION_GAIN : 0.0);
+			if (isMaximizingPlayer ? standPat + gain + DELTA_MARGIN <= a : standPat - gain - DELTA_MARGIN >= b) {
+				continue;
+			}
+			// a bigger piece taking a smaller one on a defended square is assumed to lose material
+			if (captured != null && !CompactMove.isPromotion(move) && isLosingCapture(move, captured)) {
+				continue;
+			}
+			if (!board.makeMove(move)) {
+				board.unmakeMove();
+				continue;
+			}
+			final double value = quiesce(a, b, !isMaximizingPlayer, ply + 1);
+			board.unmakeMove();
+			if (this.isAborted) {
+				return 0;
+			}
+			if (isMaximizingPlayer) {
+				bestSeen = Math.max(bestSeen, value);
+				if (bestSeen >= b) {
+					break;
+				}
+				a = Math.max(a, bestSeen);
+			} else {
+				bestSeen = Math.min(bestSeen, value);
+				if (bestSeen <= a) {
+					break;
+				}
+				b = Math.min(b, bestSeen);
+			}
+		}
+		return bestSeen;
+	}
+
+	private boolean isLosingCapture(final int move, final PieceType captured) {
+		final PieceType attacker = BitBoardUtil.typeOf(this.board.getPieceCode(CompactMove.from(move)));
+		return attacker.getValue() > captured.getValue() + DELTA_MARGIN / 2 &&
+			   this.board.isSquareAttacked(CompactMove.to(move), BitBoardUtil.COLORS[this.board.getColorToMove().ordinal() ^ 1]);
+	}
+
+	private static void selectBest(final MoveList moves, final int[] scores, final int from) {
+		int best = from;
+		for (int i = from + 1; i < moves.size(); i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+		if (best != from) {
+			moves.swap(from, best);
+			final int score = scores[from];
+			scores[from] = scores[best];
+			scores[best] = score;
+		}
+	}
+
+}
@@ -1,9 +1,12 @@
 package chess.engine.player.ai;
 
 import chess.engine.board.Board;
+import chess.engine.board.SearchBoard;
 
 public interface BoardEvaluator {
 	
 	double evaluate(Board board, int depth);
 	
+	double evaluate(SearchBoard board, int depth);
+	
 }
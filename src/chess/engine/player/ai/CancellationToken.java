@@ -0,0 +1,25 @@
+package chess.engine.player.ai;
+
+public final class CancellationToken {
+
+	private final CancellationToken parent;
+	private volatile boolean isCancelled;
+
+	public CancellationToken() {
+		this(null);
+	}
+
+	// a child token also reads as cancelled once any of its ancestors is
+	public CancellationToken(final CancellationToken parent) {
+		this.parent = parent;
+	}
+
+	public void cancel() {
+		this.isCancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return this.isCancelled || (this.parent != null && this.parent.isCancelled());
+	}
+
+}
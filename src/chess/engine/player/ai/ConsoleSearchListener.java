@@ -0,0 +1,30 @@
+package chess.engine.player.ai;
+
+import java.io.PrintStream;
+
+// the progress the strategies used to print themselves, for callers that want it on a console
+public class ConsoleSearchListener implements SearchListener {
+
+	private final PrintStream out;
+
+	public ConsoleSearchListener() {
+		this(System.out);
+	}
+
+	public ConsoleSearchListener(final PrintStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void onDepthCompleted(final SearchResult result) {
+		this.out.println(String.format("depth %d score %.2f nodes %d time %d ms pv %s", result.getDepth(), result.getScore(),
+				result.getNodes(), result.getTimeMillis(), result.getPrincipalVariation()));
+	}
+
+	@Override
+	public void onSearchCompleted(final SearchResult result) {
+		this.out.println(result);
+		this.out.println(result.getStatistics());
+	}
+
+}
@@ -0,0 +1,99 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.board.Move.MoveFactory;
+import chess.engine.board.MoveList;
+
+// the iteration loop of the deepening strategies, which only differ in how a single depth is searched from the root
+final class DeepeningDriver {
+
+	private static final double DEFAULT_BRANCHING_FACTOR = 4.0;
+	private static final double MAX_BRANCHING_FACTOR = 16.0;
+
+	interface Iteration {
+
+		// searches the root moves to depth and fills pv starting with the best move, or returns NaN when the search was stopped
+		double search(int depth, double previousScore, MoveList pv);
+
+	}
+
+	private final Board board;
+	private final SearchRequest request;
+	private final long deadline;
+	private final MoveList rootMoves;
+	private final SearchStatistics statistics;
+	private final MoveList pv = new MoveList();
+	private final MoveList iterationPv = new MoveList();
+	private int bestMove;
+	private double bestScore;
+	private int completedDepth;
+
+	// rootMoves must not be empty; they are kept ordered with the best move of the last completed depth first
+	DeepeningDriver(final Board board, final SearchRequest request, final long deadline, final MoveList rootMoves,
+					final SearchStatistics statistics) {
+		this.board = board;
+		this.request = request;
+		this.deadline = deadline;
+		this.rootMoves = rootMoves;
+		this.statistics = statistics;
+		this.bestMove = rootMoves.get(0);
+	}
+
+	// searches depth 1, 2, ... until the request limits or the predicted time of the next depth stop it
+	void run(final Iteration iteration) {
+		long previousIterationTime = 0;
+		for (int depth = 1; depth <= this.request.getMaxDepth(); depth++) {
+			final long iterationStart = System.nanoTime();
+			final double score = iteration.search(depth, this.bestScore, this.iterationPv);
+			if (Double.isNaN(score)) {
+				break;
+			}
+			this.pv.clear();
+			for (int i = 0; i < this.iterationPv.size(); i++) {
+				this.pv.add(this.iterationPv.get(i));
+			}
+			this.bestMove = this.pv.get(0);
+			this.bestScore = score;
+			this.completedDepth = depth;
+			moveToFront(this.rootMoves, this.bestMove);
+			this.statistics.completeDepth(depth);
+			this.request.getListener().onDepthCompleted(new SearchResult(MoveFactory.createMove(this.board, this.bestMove), score, depth,
+					this.statistics, this.pv));
+			final long now = System.nanoTime();
+			final long iterationTime = now - iterationStart;
+			if (this.rootMoves.size() == 1 || this.request.isCancelled() || this.statistics.getNodes() >= this.request.getMaxNodes() ||
+				(this.deadline != SearchRequest.NO_LIMIT && now + predictNextIteration(iterationTime, previousIterationTime) > this.deadline)) {
+				break;
+			}
+			previousIterationTime = iterationTime;
+		}
+	}
+
+	// the result of the deepest completed depth, once every thread has added its counters to the statistics
+	SearchResult finish(final TranspositionTable table) {
+		this.statistics.finish(table);
+		final SearchResult result = new SearchResult(MoveFactory.createMove(this.board, this.bestMove), this.bestScore, this.completedDepth,
+				this.statistics, this.pv);
+		this.request.getListener().onSearchCompleted(result);
+		return result;
+	}
+
+	static long predictNextIteration(final long iterationTime, final long previousIterationTime) {
+		final double branchingFactor = previousIterationTime > 0 ?
+				Math.min(Math.max((double) iterationTime / previousIterationTime, 1.0), MAX_BRANCHING_FACTOR) : DEFAULT_BRANCHING_FACTOR;
+		return (long) (iterationTime * branchingFactor);
+	}
+
+	// keeps the remaining root moves in their previous order behind the new best move
+	static void moveToFront(final MoveList moves, final int move) {
+		for (int i = 0; i < moves.size(); i++) {
+			if (moves.get(i) == move) {
+				for (int j = i; j > 0; j--) {
+					moves.swap(j, j - 1);
+				}
+				return;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.engine.PlayerColor;
+import chess.engine.board.Board;
+import chess.engine.board.Move;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+
+public class IterativeDeepening implements MoveStrategy {
+
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 2500L;
+
+	// iterations from this depth search a window around the previous score, widened on every failure
+	private static final int ASPIRATION_MIN_DEPTH = 4;
+	private static final double ASPIRATION_WINDOW = 0.5;
+	private static final double MAX_ASPIRATION_WINDOW = 4.0;
+
+	private final BoardEvaluator evaluator = new StandardBoardEvaluator();
+	private final TranspositionTable table;
+	private final long timeBudgetMillis;
+	private final int threads;
+
+	public IterativeDeepening() {
+		this(DEFAULT_TIME_BUDGET_MILLIS);
+	}
+
+	public IterativeDeepening(final long timeBudgetMillis) {
+		this(new TranspositionTable(), timeBudgetMillis);
+	}
+
+	public IterativeDeepening(final TranspositionTable table, final long timeBudgetMillis) {
+		this(table, timeBudgetMillis, 1);
+	}
+
+	// with more than one thread, helpers search the same root alongside the main thread and share the table (lazy SMP)
+	public IterativeDeepening(final TranspositionTable table, final long timeBudgetMillis, final int threads) {
+		if (threads < 1) {
+			throw new RuntimeException("search needs at least one thread: " + threads);
+		}
+		this.table = table;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.threads = threads;
+	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	@Override
+	public String toString() {
+		return this.threads == 1 ? "Iterative Deepening" : "Iterative Deepening (" + this.threads + " threads)";
+	}
+
+	@Override
+	public Move execute(final Board board, final int depth) {
+		return run(board, new SearchRequest.Builder().setMaxDepth(depth).setTimeLimit(this.timeBudgetMillis).build()).getBestMove();
+	}
+
+	@Override
+	public CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> run(board, request));
+	}
+
+	// searches depth 1, 2, ... within the request limits and returns the result of the deepest completed iteration
+	public SearchResult run(final Board board, final SearchRequest request) {
+		final long startTime = System.nanoTime();
+		final long deadline = request.getDeadline(startTime);
+		this.table.newSearch();
+		final SearchBoard searchBoard = new SearchBoard(board);
+		final AlphaBetaSearch search = new AlphaBetaSearch(searchBoard, this.evaluator, this.table);
+		search.setSelectivity(request.isNullMovePruning(), request.isLateMoveReductions());
+		final SearchStatistics statistics = search.getStatistics();
+		final boolean isMaximizingPlayer = searchBoard.getColorToMove() == PlayerColor.WHITE;
+		final MoveList rootMoves = new MoveList();
+		searchBoard.generateLegalMoves(rootMoves);
+		MovePicker.orderMoves(searchBoard, rootMoves, search.probeHashMove());
+		if (rootMoves.isEmpty()) {
+			statistics.finish(this.table);
+			final SearchResult result = new SearchResult(null, this.evaluator.evaluate(searchBoard, 0), 0, statistics);
+			request.getListener().onSearchCompleted(result);
+			return result;
+		}
+		// the node limit covers the helpers too, so every thread counts into the same total
+		final AtomicLong sharedNodes = new AtomicLong();
+		search.setSharedNodes(sharedNodes);
+		final CancellationToken helperToken = new CancellationToken();
+		final List<Helper> helpers = startHelpers(board, request, deadline, sharedNodes, helperToken);
+		final DeepeningDriver driver = new DeepeningDriver(board, request, deadline, rootMoves, statistics);
+		try {
+			driver.run((depth, previousScore, pv) -> {
+				// the first iteration always completes so there is a move to play
+				if (depth == 1) {
+					search.clearLimits();
+				} else {
+					search.setLimits(deadline, request.getMaxNodes(), request.getCancellationToken());
+				}
+				final double score = searchIteration(search, rootMoves, depth, previousScore, isMaximizingPlayer);
+				if (search.isAborted()) {
+					return Double.NaN;
+				}
+				search.getPrincipalVariation(pv);
+				return score;
+			});
+		} finally {
+			// an exception must not leave the helpers searching until their deadline
+			stopHelpers(helpers, helperToken, statistics);
+		}
+		return driver.finish(this.table);
+	}
+
+	// helpers are only prepared on this thread because Board computes its state lazily
+	private List<Helper> startHelpers(final Board board, final SearchRequest request, final long deadline, final AtomicLong sharedNodes,
+									  final CancellationToken token) {
+		final List<Helper> helpers = new ArrayList<>(this.threads - 1);
+		for (int i = 1; i < this.threads; i++) {
+			final AlphaBetaSearch search = new AlphaBetaSearch(new SearchBoard(board), this.evaluator, this.table);
+			search.setSelectivity(request.isNullMovePruning(), request.isLateMoveReductions());
+			search.setLimits(deadline, request.getMaxNodes(), token);
+			search.setSharedNodes(sharedNodes);
+			helpers.add(new Helper(search, request.getMaxDepth(), i));
+		}
+		for (final Helper helper : helpers) {
+			helper.start();
+		}
+		return helpers;
+	}
+
+	private static void stopHelpers(final List<Helper> helpers, final CancellationToken token, final SearchStatistics statistics) {
+		token.cancel();
+		for (final Helper helper : helpers) {
+			try {
+				helper.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			statistics.add(helper.search.getStatistics());
+		}
+	}
+
+	private static final class Helper extends Thread {
+
+		private final AlphaBetaSearch search;
+		private final int maxDepth;
+		private final int index;
+
+		Helper(final AlphaBetaSearch search, final int maxDepth, final int index) {
+			super("search-helper-" + index);
+			setDaemon(true);
+			this.search = search;
+			this.maxDepth = maxDepth;
+			this.index = index;
+		}
+
+		// odd helpers run a ply ahead of the even ones, so the threads reach different depths and fill the table for each other
+		@Override
+		public void run() {
+			final SearchBoard board = this.search.getBoard();
+			final boolean isMaximizingPlayer = board.getColorToMove() == PlayerColor.WHITE;
+			final MoveList rootMoves = new MoveList();
+			final MoveList pv = new MoveList();
+			board.generateLegalMoves(rootMoves);
+			MovePicker.orderMoves(board, rootMoves, this.search.probeHashMove());
+			for (int depth = 1 + this.index % 2; depth <= this.maxDepth; depth++) {
+				this.search.searchRoot(rootMoves, depth, -Double.MAX_VALUE, Double.MAX_VALUE, isMaximizingPlayer);
+				if (this.search.isAborted()) {
+					return;
+				}
+				this.search.getPrincipalVariation(pv);
+				DeepeningDriver.moveToFront(rootMoves, pv.get(0));
+			}
+		}
+
+	}
+
+	private static double searchIteration(final AlphaBetaSearch search, final MoveList rootMoves, final int depth,
+										  final double previousScore, final boolean isMaximizingPlayer) {
+		if (depth < ASPIRATION_MIN_DEPTH) {
+			return search.searchRoot(rootMoves, depth, -Double.MAX_VALUE, Double.MAX_VALUE, isMaximizingPlayer);
+		}
+		double window = ASPIRATION_WINDOW;
+		double a = previousScore - window;
+		double b = previousScore + window;
+		while (true) {
+			final double score = search.searchRoot(rootMoves, depth, a, b, isMaximizingPlayer);
+			if (search.isAborted() || (score > a && score < b)) {
+				return score;
+			}
+			search.getStatistics().aspirationFailures++;
+			window *= 2;
+			if (score <= a) {
+				a = window > MAX_ASPIRATION_WINDOW ? -Double.MAX_VALUE : previousScore - window;
+			} else {
+				b = window > MAX_ASPIRATION_WINDOW ? Double.MAX_VALUE : previousScore + window;
+			}
+		}
+	}
+
+}
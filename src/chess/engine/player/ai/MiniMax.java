@@ -1,13 +1,19 @@
 package chess.engine.player.ai;
 
+import java.util.concurrent.CompletableFuture;
+
 import chess.engine.PlayerColor;
 import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
 import chess.engine.board.Move;
-import chess.engine.player.MoveTransition;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
 
 public class MiniMax implements MoveStrategy {
 	
 	private final BoardEvaluator evaluator;
+	private SearchStatistics statistics = new SearchStatistics();
+	private double bestScore = Double.NaN;
 	
 	public MiniMax() {
 		this.evaluator = new StandardBoardEvaluator();
@@ -18,25 +24,41 @@ public class MiniMax implements MoveStrategy {
 		return "MiniMax";
 	}
 	
-	private static boolean isEndGameScenario(final Board board) {
-		return board.getCurrentPlayer().isInCheckmate() || board.getCurrentPlayer().isInStalemate();
+	// the counters of the last execute call
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+	
+	// the same fixed-depth search as execute, reporting the score and counters it produced
+	@Override
+	public CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> {
+			final Move move = execute(board, request.getMaxDepth());
+			final SearchResult result = new SearchResult(move, this.bestScore, request.getMaxDepth(), this.statistics);
+			request.getListener().onSearchCompleted(result);
+			return result;
+		});
+	}
+	
+	private static boolean isEndGameScenario(final SearchBoard board) {
+		return !board.hasLegalMoves();
 	}
 	
 	@Override
 	public Move execute(Board board, int depth) {
-		final long startTime = System.currentTimeMillis();
+		this.statistics = new SearchStatistics();
 		Move bestMove = null;
 		double highestSeen = -Double.MAX_VALUE;
 		double lowestSeen = Double.MAX_VALUE;
 		double currentValue;
 		System.out.println(board.getCurrentPlayer() + " thinking with depth " + depth);
-		int numMoves = board.getCurrentPlayer().getLegalMoves().size();
+		final SearchBoard searchBoard = new SearchBoard(board);
+		final MoveList[] moveLists = MoveList.createStack(Math.max(depth, 1));
 		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
+			if (searchBoard.makeMove(CompactMove.of(move))) {
 				currentValue = board.getCurrentPlayer().getColor() == PlayerColor.WHITE ?
-							   min(transition.getTransitionBoard(), depth - 1) :
-							   max(transition.getTransitionBoard(), depth - 1);
+							   min(searchBoard, moveLists, depth - 1) :
+							   max(searchBoard, moveLists, depth - 1);
 				if (board.getCurrentPlayer().getColor() == PlayerColor.WHITE && currentValue > highestSeen) {
 					highestSeen = currentValue;
 					bestMove = move;
@@ -45,41 +67,50 @@ public class MiniMax implements MoveStrategy {
 					bestMove = move;
 				}
 			}
+			searchBoard.unmakeMove();
 		}
-		final long executionTime = System.currentTimeMillis() - startTime;
+		this.statistics.completeDepth(depth);
+		this.statistics.finish(null);
+		this.bestScore = board.getCurrentPlayer().getColor() == PlayerColor.WHITE ? highestSeen : lowestSeen;
 		return bestMove;
 	}
 	
-	public double min(final Board board, final int depth) {
+	public double min(final SearchBoard board, final MoveList[] moveLists, final int depth) {
+		this.statistics.nodes++;
 		if (depth <= 0 || isEndGameScenario(board)) {
 			return this.evaluator.evaluate(board, depth);
 		}
-		double lowestSeen = Double.MAX_VALUE;		
-		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
-				final double currentValue = max(transition.getTransitionBoard(), depth - 1);
+		double lowestSeen = Double.MAX_VALUE;
+		final MoveList moves = moveLists[depth];
+		board.generateMoves(moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (board.makeMove(moves.get(i))) {
+				final double currentValue = max(board, moveLists, depth - 1);
 				if (currentValue < lowestSeen) {
 					lowestSeen = currentValue;
 				}
 			}
+			board.unmakeMove();
 		}
 		return lowestSeen;
 	}
 	
-	public double max(final Board board, final int depth) {
+	public double max(final SearchBoard board, final MoveList[] moveLists, final int depth) {
+		this.statistics.nodes++;
 		if (depth <= 0 || isEndGameScenario(board)) {
 			return this.evaluator.evaluate(board, depth);
 		}
 		double highestSeen = -Double.MAX_VALUE;
-		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
-				final double currentValue = min(transition.getTransitionBoard(), depth - 1);
+		final MoveList moves = moveLists[depth];
+		board.generateMoves(moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (board.makeMove(moves.get(i))) {
+				final double currentValue = min(board, moveLists, depth - 1);
 				if (currentValue > highestSeen) {
 					highestSeen = currentValue;
 				}
 			}
+			board.unmakeMove();
 		}
 		return highestSeen;
 	}
@@ -0,0 +1,48 @@
+package chess.engine.player.ai;
+
+import static chess.engine.board.BoardUtil.*;
+
+import java.util.Arrays;
+
+import chess.engine.board.CompactMove;
+
+public final class MoveHistory {
+
+	public static final int MAX_PLY = 256;
+	public static final int KILLER_SLOTS = 2;
+
+	// history scores are halved once any of them passes this, keeping recent cutoffs dominant
+	private static final int HISTORY_LIMIT = 1 << 24;
+
+	private final int[] killers = new int[MAX_PLY * KILLER_SLOTS];
+	private final int[] history = new int[BOARD_SQUARES * BOARD_SQUARES];
+
+	public int getKiller(final int ply, final int slot) {
+		return ply < MAX_PLY ? this.killers[ply * KILLER_SLOTS + slot] : CompactMove.NULL_MOVE;
+	}
+
+	public int getHistory(final int move) {
+		return this.history[CompactMove.from(move) * BOARD_SQUARES + CompactMove.to(move)];
+	}
+
+	// records a quiet move that caused a beta cutoff
+	public void addCutoff(final int move, final int ply, final int depth) {
+		if (ply < MAX_PLY && this.killers[ply * KILLER_SLOTS] != move) {
+			this.killers[ply * KILLER_SLOTS + 1] = this.killers[ply * KILLER_SLOTS];
+			this.killers[ply * KILLER_SLOTS] = move;
+		}
+		final int index = CompactMove.from(move) * BOARD_SQUARES + CompactMove.to(move);
+		this.history[index] += depth * depth;
+		if (this.history[index] > HISTORY_LIMIT) {
+			for (int i = 0; i < this.history.length; i++) {
+				this.history[i] >>= 1;
+			}
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(this.killers, CompactMove.NULL_MOVE);
+		Arrays.fill(this.history, 0);
+	}
+
+}
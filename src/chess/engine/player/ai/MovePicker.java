@@ -0,0 +1,183 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.CompactMove;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+import chess.engine.pieces.PieceType;
+
+public final class MovePicker {
+
+	public static final int HASH_MOVE = 0;
+	public static final int CAPTURES = 1;
+	public static final int PROMOTIONS = 2;
+	public static final int KILLERS = 3;
+	public static final int QUIETS = 4;
+	public static final int DONE = 5;
+	
+	private static final int KING = PieceType.KING.ordinal();
+	private static final int PIECE_TYPES = PieceType.values().length;
+	private static final int HASH_MOVE_SCORE = 1 << 16;
+	private static final int PROMOTION_SCORE = 1 << 12;
+	private static final int CHECK_SCORE = 1 << 10;
+	private static final int CAPTURE_SCORE = 1 << 8;
+
+	private final SearchBoard board;
+	private final MoveHistory history;
+	private final MoveList moves = new MoveList();
+	private final int[] scores = new int[SearchBoard.MAX_MOVES];
+	private int hashMove;
+	private final int[] killers = new int[MoveHistory.KILLER_SLOTS];
+	private int stage;
+	private int index;
+	private boolean isGenerated;
+
+	public MovePicker(final SearchBoard board, final MoveHistory history) {
+		this.board = board;
+		this.history = history;
+	}
+
+	public static MovePicker[] createStack(final SearchBoard board, final MoveHistory history, final int plies) {
+		final MovePicker[] result = new MovePicker[plies];
+		for (int i = 0; i < plies; i++) {
+			result[i] = new MovePicker(board, history);
+		}
+		return result;
+	}
+
+	// most valuable victim first, least valuable attacker breaking ties, promotions scored by the new piece
+	public static int mvvLva(final SearchBoard board, final int move) {
+		final PieceType captured = CompactMove.captured(move);
+		final int attacker = board.getPieceCode(CompactMove.from(move)) % PIECE_TYPES;
+		int score = captured == null ? 0 : (captured.ordinal() + 1) * PIECE_TYPES + KING - attacker;
+		if (CompactMove.isPromotion(move)) {
+			score += (CompactMove.promotion(move).ordinal() + 1) * PIECE_TYPES;
+		}
+		return score;
+	}
+	
+	// a one-off ordering for root move lists: hash move, promotions, checks, then captures by MVV-LVA
+	public static void orderMoves(final SearchBoard board, final MoveList moves, final int hashMove) {
+		final int[] scores = new int[moves.size()];
+		for (int i = 0; i < moves.size(); i++) {
+			final int move = moves.get(i);
+			scores[i] = move == hashMove ? HASH_MOVE_SCORE :
+						(CompactMove.isPromotion(move) ? PROMOTION_SCORE : 0) +
+						(board.givesCheck(move) ? CHECK_SCORE : 0) +
+						(CompactMove.isCapture(move) ? CAPTURE_SCORE + mvvLva(board, move) : 0);
+		}
+		// insertion sort keeps equally scored moves in generation order
+		for (int i = 1; i < moves.size(); i++) {
+			final int move = moves.get(i);
+			final int score = scores[i];
+			int j = i - 1;
+			while (j >= 0 && scores[j] < score) {
+				moves.set(j + 1, moves.get(j));
+				scores[j + 1] = scores[j];
+				j--;
+			}
+			moves.set(j + 1, move);
+			scores[j + 1] = score;
+		}
+	}
+	
+	public void reset(final int hashMove, final int ply) {
+		this.hashMove = hashMove;
+		for (int slot = 0; slot < MoveHistory.KILLER_SLOTS; slot++) {
+			this.killers[slot] = this.history.getKiller(ply, slot);
+		}
+		this.stage = HASH_MOVE;
+		this.index = 0;
+		this.isGenerated = false;
+		this.moves.clear();
+	}
+
+	public int getStage() {
+		return this.stage;
+	}
+
+	public int nextMove() {
+		if (this.stage == HASH_MOVE) {
+			this.stage = CAPTURES;
+			if (this.hashMove != CompactMove.NULL_MOVE && this.board.isPseudoLegal(this.hashMove)) {
+				return this.hashMove;
+			}
+		}
+		while (this.stage != DONE) {
+			if (this.stage == KILLERS) {
+				while (this.index < MoveHistory.KILLER_SLOTS) {
+					final int killer = this.killers[this.index++];
+					if (killer != CompactMove.NULL_MOVE && killer != this.hashMove && this.board.isPseudoLegal(killer)) {
+						return killer;
+					}
+				}
+				this.stage++;
+				this.isGenerated = false;
+				continue;
+			}
+			if (!this.isGenerated) {
+				generate(this.stage);
+				this.isGenerated = true;
+				this.index = 0;
+			}
+			while (this.index < this.moves.size()) {
+				final int move = selectNext();
+				if (move != this.hashMove && (this.stage != QUIETS || !isKiller(move))) {
+					return move;
+				}
+			}
+			this.stage++;
+			this.isGenerated = false;
+			this.index = 0;
+		}
+		return CompactMove.NULL_MOVE;
+	}
+
+	private boolean isKiller(final int move) {
+		for (int slot = 0; slot < MoveHistory.KILLER_SLOTS; slot++) {
+			if (this.killers[slot] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// swaps the best remaining move to the front of the unpicked part of the list
+	private int selectNext() {
+		int best = this.index;
+		for (int i = this.index + 1; i < this.moves.size(); i++) {
+			if (this.scores[i] > this.scores[best]) {
+				best = i;
+			}
+		}
+		if (best != this.index) {
+			this.moves.swap(this.index, best);
+			final int score = this.scores[this.index];
+			this.scores[this.index] = this.scores[best];
+			this.scores[best] = score;
+		}
+		return this.moves.get(this.index++);
+	}
+
+	private void generate(final int stage) {
+		switch (stage) {
+		case CAPTURES:
+			this.board.generateCaptures(this.moves);
+			for (int i = 0; i < this.moves.size(); i++) {
+				this.scores[i] = mvvLva(this.board, this.moves.get(i));
+			}
+			break;
+		case PROMOTIONS:
+			this.board.generatePromotions(this.moves);
+			for (int i = 0; i < this.moves.size(); i++) {
+				this.scores[i] = mvvLva(this.board, this.moves.get(i));
+			}
+			break;
+		default:
+			this.board.generateQuiets(this.moves);
+			for (int i = 0; i < this.moves.size(); i++) {
+				this.scores[i] = this.history.getHistory(this.moves.get(i));
+			}
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package chess.engine.player.ai;
 
+import java.util.concurrent.CompletableFuture;
+
 import chess.engine.board.Board;
 import chess.engine.board.Move;
 
@@ -7,4 +9,16 @@ public interface MoveStrategy {
 	
 	Move execute(Board board, int depth);
 	
+	// strategies without their own limit handling only honour the depth of the request
+	default CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> {
+			final SearchStatistics statistics = new SearchStatistics();
+			final Move move = execute(board, request.getMaxDepth());
+			statistics.finish(null);
+			final SearchResult result = new SearchResult(move, Double.NaN, request.getMaxDepth(), statistics);
+			request.getListener().onSearchCompleted(result);
+			return result;
+		});
+	}
+	
 }
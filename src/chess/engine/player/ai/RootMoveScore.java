@@ -0,0 +1,57 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Move;
+import chess.engine.board.MoveList;
+
+public final class RootMoveScore {
+
+	private final Move move;
+	private final double score;
+	private final int bound;
+	private final int depth;
+	private final MoveList principalVariation;
+
+	// bound is one of the TranspositionTable bound types, telling whether score is exact or only a limit
+	public RootMoveScore(final Move move, final double score, final int bound, final int depth, final MoveList principalVariation) {
+		this.move = move;
+		this.score = score;
+		this.bound = bound;
+		this.depth = depth;
+		this.principalVariation = new MoveList(principalVariation.size());
+		for (int i = 0; i < principalVariation.size(); i++) {
+			this.principalVariation.add(principalVariation.get(i));
+		}
+	}
+
+	public Move getMove() {
+		return this.move;
+	}
+
+	public double getScore() {
+		return this.score;
+	}
+
+	public int getBound() {
+		return this.bound;
+	}
+
+	public boolean isExact() {
+		return this.bound == TranspositionTable.EXACT;
+	}
+
+	public int getDepth() {
+		return this.depth;
+	}
+
+	// the expected line starting with the move; after a bound it stops where the search gave up on the move
+	public MoveList getPrincipalVariation() {
+		return this.principalVariation;
+	}
+
+	@Override
+	public String toString() {
+		final String prefix = this.bound == TranspositionTable.UPPER_BOUND ? "<=" : this.bound == TranspositionTable.LOWER_BOUND ? ">=" : "";
+		return String.format("%s %s%.2f depth %d", this.move, prefix, this.score, this.depth);
+	}
+
+}
@@ -0,0 +1,259 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.engine.PlayerColor;
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.Move;
+import chess.engine.board.Move.MoveFactory;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+
+public class RootSplitSearch implements MoveStrategy, AutoCloseable {
+
+	public static final int VIRTUAL_THREADS = 0;
+
+	private final BoardEvaluator evaluator = new StandardBoardEvaluator();
+	private final TranspositionTable table;
+	private final ExecutorService executor;
+	private final boolean isVirtual;
+
+	public RootSplitSearch() {
+		this(new TranspositionTable(), VIRTUAL_THREADS);
+	}
+
+	// every root move is searched as its own task, on a virtual thread each or on a pool of platformThreads threads
+	public RootSplitSearch(final TranspositionTable table, final int platformThreads) {
+		if (platformThreads < 0) {
+			throw new RuntimeException("thread count must not be negative: " + platformThreads);
+		}
+		this.table = table;
+		final ExecutorService virtualExecutor = platformThreads == VIRTUAL_THREADS ? newVirtualThreadExecutor() : null;
+		this.isVirtual = virtualExecutor != null;
+		this.executor = this.isVirtual ? virtualExecutor :
+						newPlatformExecutor(platformThreads == VIRTUAL_THREADS ? Runtime.getRuntime().availableProcessors() : platformThreads);
+	}
+
+	// virtual threads only exist from Java 21 on, so the executor is looked up rather than linked against
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	private static ExecutorService newPlatformExecutor(final int threads) {
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, task -> {
+			final Thread thread = new Thread(task, "root-split-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public boolean isVirtual() {
+		return this.isVirtual;
+	}
+
+	// lets the running root move tasks finish and releases the executor's threads; the strategy cannot search afterwards
+	@Override
+	public void close() {
+		this.executor.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return "Root Split" + (this.isVirtual ? " (virtual threads)" : "");
+	}
+
+	@Override
+	public Move execute(final Board board, final int depth) {
+		return run(board, SearchRequest.ofDepth(depth)).getBestMove();
+	}
+
+	@Override
+	public CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> run(board, request));
+	}
+
+	public SearchResult run(final Board board, final SearchRequest request) {
+		final SearchStatistics statistics = new SearchStatistics();
+		final List<RootMoveScore> scores = analyze(board, request, statistics);
+		final RootMoveScore best = scores.isEmpty() ? null : scores.get(0);
+		final SearchResult result = best == null ? new SearchResult(null, this.evaluator.evaluate(new SearchBoard(board), 0), 0, statistics) :
+									new SearchResult(best.getMove(), best.getScore(), best.getDepth(), statistics, best.getPrincipalVariation());
+		request.getListener().onSearchCompleted(result);
+		return result;
+	}
+
+	public List<RootMoveScore> analyze(final Board board, final SearchRequest request) {
+		return analyze(board, request, new SearchStatistics());
+	}
+
+	// all legal root moves at the deepest depth every one of them completed, exact scores ahead of bounds and then best
+	// first for the side to move; a move that could not beat the best score of that depth when it started only carries a
+	// bound, so the first move is the best one, and the node limit applies to all root moves together
+	private List<RootMoveScore> analyze(final Board board, final SearchRequest request, final SearchStatistics statistics) {
+		final long startTime = System.nanoTime();
+		final long deadline = request.getDeadline(startTime);
+		this.table.newSearch();
+		final SearchBoard root = new SearchBoard(board);
+		final boolean isMaximizingPlayer = root.getColorToMove() == PlayerColor.WHITE;
+		final MoveList rootMoves = new MoveList();
+		root.generateLegalMoves(rootMoves);
+		final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+		MovePicker.orderMoves(root, rootMoves, this.table.probe(root.getZobristKey(), entry) ? entry.getMove() : CompactMove.NULL_MOVE);
+		// stops the root move tasks of this search only, the caller's token may be shared with other searches
+		final CancellationToken token = new CancellationToken(request.getCancellationToken());
+		final AtomicLong sharedNodes = new AtomicLong();
+		final List<RootMove> moves = new ArrayList<>(rootMoves.size());
+		for (int i = 0; i < rootMoves.size(); i++) {
+			final int move = rootMoves.get(i);
+			final SearchBoard position = new SearchBoard(root);
+			position.makeMove(move);
+			final AlphaBetaSearch search = new AlphaBetaSearch(position, this.evaluator, this.table);
+			search.setSelectivity(request.isNullMovePruning(), request.isLateMoveReductions());
+			search.setSharedNodes(sharedNodes);
+			moves.add(new RootMove(search, MoveFactory.createMove(board, move)));
+		}
+		// every move finishes a depth before any starts the next, so a move that happens to get more of the pool is
+		// never ranked on a deeper search than the others
+		final List<RootMoveScore> result = new ArrayList<>(moves.size());
+		long previousIterationTime = 0;
+		for (int depth = 1; depth <= request.getMaxDepth() && !moves.isEmpty(); depth++) {
+			final long iterationStart = System.nanoTime();
+			final boolean isComplete = searchDepth(moves, depth, isMaximizingPlayer, deadline, request.getMaxNodes(), token);
+			for (final RootMove move : moves) {
+				move.search.getStatistics().drainTo(statistics);
+			}
+			if (!isComplete) {
+				break;
+			}
+			statistics.completeDepth(depth);
+			// the best moves of this depth go first in the next one, so they set the bound the others have to beat
+			moves.sort((first, second) -> compare(first.score, second.score, isMaximizingPlayer));
+			result.clear();
+			for (final RootMove move : moves) {
+				result.add(move.score);
+			}
+			final RootMoveScore best = result.get(0);
+			request.getListener().onDepthCompleted(new SearchResult(best.getMove(), best.getScore(), depth, statistics,
+					best.getPrincipalVariation()));
+			final long now = System.nanoTime();
+			final long iterationTime = now - iterationStart;
+			// the first depth mostly measures starting the tasks, so the next one is only predicted from the second on
+			if (request.isCancelled() || (deadline != SearchRequest.NO_LIMIT && depth > 1 &&
+				now + DeepeningDriver.predictNextIteration(iterationTime, previousIterationTime) > deadline)) {
+				break;
+			}
+			previousIterationTime = iterationTime;
+		}
+		statistics.finish(this.table);
+		return result;
+	}
+
+	// searches every root move to depth on the executor; false when the limits stopped any of them
+	private boolean searchDepth(final List<RootMove> moves, final int depth, final boolean isMaximizingPlayer, final long deadline,
+								final long maxNodes, final CancellationToken token) {
+		// the best score of this depth so far, shared by all root moves as the bound a later move has to beat
+		final AtomicLong bestBound = new AtomicLong(Double.doubleToRawLongBits(isMaximizingPlayer ? -Double.MAX_VALUE : Double.MAX_VALUE));
+		final List<Future<RootMoveScore>> futures = new ArrayList<>(moves.size());
+		for (final RootMove move : moves) {
+			futures.add(this.executor.submit(() -> searchMove(move.search, move.move, depth, isMaximizingPlayer, bestBound, deadline, maxNodes, token)));
+		}
+		final RootMoveScore[] scores = new RootMoveScore[moves.size()];
+		boolean isComplete = true;
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				scores[i] = futures.get(i).get();
+				isComplete &= scores[i] != null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			token.cancel();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			token.cancel();
+			throw new RuntimeException(e.getCause());
+		}
+		if (isComplete) {
+			for (int i = 0; i < scores.length; i++) {
+				moves.get(i).score = scores[i];
+			}
+		}
+		return isComplete;
+	}
+
+	// the first iteration always completes so every move has a score; null when the limits stopped the search
+	private static RootMoveScore searchMove(final AlphaBetaSearch search, final Move move, final int depth, final boolean isMaximizingPlayer,
+											final AtomicLong bestBound, final long deadline, final long maxNodes, final CancellationToken token) {
+		if (depth == 1) {
+			search.clearLimits();
+		} else {
+			search.setLimits(deadline, maxNodes, token);
+		}
+		final double bound = Double.longBitsToDouble(bestBound.get());
+		final double value = isMaximizingPlayer ? search.search(depth - 1, bound, Double.MAX_VALUE, false) :
+							 search.search(depth - 1, -Double.MAX_VALUE, bound, true);
+		if (search.isAborted()) {
+			return null;
+		}
+		final boolean isFailLow = isMaximizingPlayer ? value <= bound && bound != -Double.MAX_VALUE :
+								  value >= bound && bound != Double.MAX_VALUE;
+		if (!isFailLow) {
+			raise(bestBound, value, isMaximizingPlayer);
+		}
+		final MoveList line = new MoveList();
+		search.getPrincipalVariation(line);
+		final MoveList pv = new MoveList(line.size() + 1);
+		pv.add(CompactMove.of(move));
+		for (int i = 0; i < line.size(); i++) {
+			pv.add(line.get(i));
+		}
+		return new RootMoveScore(move, value, !isFailLow ? TranspositionTable.EXACT :
+				isMaximizingPlayer ? TranspositionTable.UPPER_BOUND : TranspositionTable.LOWER_BOUND, depth, pv);
+	}
+
+	// exact scores first, a bound only says the move is no better than the best one
+	private static int compare(final RootMoveScore first, final RootMoveScore second, final boolean isMaximizingPlayer) {
+		if (first.isExact() != second.isExact()) {
+			return first.isExact() ? -1 : 1;
+		}
+		return isMaximizingPlayer ? Double.compare(second.getScore(), first.getScore()) : Double.compare(first.getScore(), second.getScore());
+	}
+
+	private static void raise(final AtomicLong bestBound, final double value, final boolean isMaximizingPlayer) {
+		while (true) {
+			final long current = bestBound.get();
+			final double bound = Double.longBitsToDouble(current);
+			if ((isMaximizingPlayer ? value <= bound : value >= bound) ||
+				bestBound.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+				return;
+			}
+		}
+	}
+
+	private static final class RootMove {
+
+		private final AlphaBetaSearch search;
+		private final Move move;
+		private RootMoveScore score;
+
+		RootMove(final AlphaBetaSearch search, final Move move) {
+			this.search = search;
+			this.move = move;
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chess.engine.board.FenUtil;
+import chess.engine.perft.PerftPosition;
+
+public class SearchBenchmark {
+
+	private static final int DEFAULT_DEPTH = 8;
+	private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16};
+	private static final long NANOS_PER_MILLI = 1000000L;
+	// the split depth that selects the root-split search
+	private static final int ROOT_SPLIT = -1;
+
+	private final int depth;
+	private final int splitDepth;
+	private final SearchListener listener;
+
+	// a split depth of zero benchmarks lazy SMP, ROOT_SPLIT the root-split search and anything else the fork/join search
+	// splitting at that depth
+	public SearchBenchmark(final int depth, final int splitDepth, final SearchListener listener) {
+		this.depth = depth;
+		this.splitDepth = splitDepth;
+		this.listener = listener;
+	}
+
+	private MoveStrategy createStrategy(final TranspositionTable table, final int threads) {
+		return this.splitDepth == 0 ? new IterativeDeepening(table, SearchRequest.NO_LIMIT, threads) :
+			   this.splitDepth == ROOT_SPLIT ? new RootSplitSearch(table, threads) :
+			   new YoungBrothersWait(table, SearchRequest.NO_LIMIT, threads, this.splitDepth);
+	}
+
+	// time to reach the benchmark depth over all reference positions, starting from an empty table each time
+	public long timeToDepth(final int threads, final long[] nodes) {
+		final TranspositionTable table = new TranspositionTable();
+		final MoveStrategy strategy = createStrategy(table, threads);
+		long nanos = 0;
+		try {
+			for (final PerftPosition position : PerftPosition.values()) {
+				table.clear();
+				final long startTime = System.nanoTime();
+				final SearchResult result = strategy.search(FenUtil.createBoard(position.getFen()),
+						new SearchRequest.Builder().setMaxDepth(this.depth).setListener(this.listener).build()).join();
+				nanos += System.nanoTime() - startTime;
+				nodes[0] += result.getNodes();
+			}
+		} finally {
+			close(strategy);
+		}
+		return nanos;
+	}
+
+	// the parallel searches own a thread pool, which has to go before the next thread count gets its own
+	private static void close(final MoveStrategy strategy) {
+		if (strategy instanceof YoungBrothersWait) {
+			((YoungBrothersWait) strategy).close();
+		} else if (strategy instanceof RootSplitSearch) {
+			((RootSplitSearch) strategy).close();
+		}
+	}
+
+	private void run(final int[] threadCounts) {
+		final List<String> lines = new ArrayList<>();
+		// one untimed pass so the baseline is not measured on cold code
+		timeToDepth(threadCounts[0], new long[1]);
+		long baseline = 0;
+		for (final int threads : threadCounts) {
+			final long[] nodes = new long[1];
+			final long nanos = timeToDepth(threads, nodes);
+			if (baseline == 0) {
+				baseline = nanos;
+			}
+			lines.add(String.format("threads %2d: %8d ms, %12d nodes, %10.0f nodes/s, speedup %.2f",
+					threads, nanos / NANOS_PER_MILLI, nodes[0], nodes[0] / Math.max(nanos / 1e9, 1e-9), (double) baseline / nanos));
+		}
+		final MoveStrategy strategy = createStrategy(new TranspositionTable(1), 1);
+		close(strategy);
+		System.out.println();
+		System.out.println(strategy + ", time to depth " + this.depth + " over " +
+						   PerftPosition.values().length + " positions, " + Runtime.getRuntime().availableProcessors() + " processors");
+		for (final String line : lines) {
+			System.out.println(line);
+		}
+	}
+
+	private static void printUsage() {
+		System.out.println("usage: SearchBenchmark [-threads <n,n,...>] [-split <depth> | -root] [-verbose] [depth]");
+		System.out.println("  -threads   thread counts to compare, the first one being the baseline (default 1,2,4,8,16)");
+		System.out.println("  -split     benchmark the fork/join search, splitting nodes with at least this depth left,");
+		System.out.println("             instead of lazy SMP (the strategy's default is " + YoungBrothersWait.DEFAULT_SPLIT_DEPTH + ")");
+		System.out.println("  -root      benchmark the root-split search on a pool of each thread count instead of lazy SMP");
+		System.out.println("  -verbose   print every completed depth and the statistics of each search");
+	}
+
+	public static void main(final String[] args) {
+		int[] threadCounts = DEFAULT_THREADS;
+		int depth = DEFAULT_DEPTH;
+		int splitDepth = 0;
+		SearchListener listener = SearchListener.NONE;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-threads":
+				if (i + 1 == args.length) {
+					printUsage();
+					return;
+				}
+				final String[] counts = args[++i].split(",");
+				threadCounts = new int[counts.length];
+				for (int j = 0; j < counts.length; j++) {
+					threadCounts[j] = Integer.parseInt(counts[j].trim());
+				}
+				break;
+			case "-split":
+				if (i + 1 == args.length) {
+					printUsage();
+					return;
+				}
+				splitDepth = Integer.parseInt(args[++i]);
+				break;
+			case "-root":
+				splitDepth = ROOT_SPLIT;
+				break;
+			case "-verbose":
+				listener = new ConsoleSearchListener();
+				break;
+			case "-help":
+				printUsage();
+				return;
+			default:
+				depth = Integer.parseInt(args[i]);
+			}
+		}
+		new SearchBenchmark(depth, splitDepth, listener).run(threadCounts);
+	}
+
+}
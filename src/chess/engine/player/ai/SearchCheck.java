@@ -0,0 +1,209 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import chess.engine.board.CompactMove;
+import chess.engine.board.FenUtil;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+import chess.engine.perft.PerftPosition;
+
+// regression checks for every strategy, in the spirit of Perft -reference: legal moves on the reference positions, a mate
+// in one, a position where the natural capture gets mated, serial against parallel agreement, node limits, cancellation
+// and the root-split ranking
+public class SearchCheck {
+
+	private static final String MATE_IN_ONE = "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1";
+	private static final String MATE_IN_ONE_MOVE = "d1d8";
+	// Qxd5 and Qxb7 both run into Re1 mate, anything sensible keeps white a couple of pawns up
+	private static final String BACK_RANK = "4r1k1/1p3ppp/8/3p4/8/1Q6/5PPP/6K1 w - - 0 1";
+	private static final String[] BACK_RANK_MATED_MOVES = {"b3d5", "b3b7"};
+	private static final String HANGING_QUEEN = "4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1";
+	private static final String HANGING_QUEEN_MOVE = "d2d5";
+	private static final int FIXED_DEPTH = 4;
+	private static final long TIME_LIMIT_MILLIS = 300L;
+	private static final long NODE_LIMIT = 50000L;
+	// every thread may run up to a couple of limit check intervals past the shared total before it notices
+	private static final long NODE_LIMIT_SLACK = 5000L;
+	private static final long CANCEL_AFTER_MILLIS = 200L;
+	private static final long CANCEL_TIMEOUT_MILLIS = 5000L;
+
+	private final List<MoveStrategy> strategies = new ArrayList<>();
+	// the strategies that honour the limits of a request rather than only its depth
+	private final List<MoveStrategy> limitedStrategies = new ArrayList<>();
+	// the limited strategies that answer with their deepest completed depth once a limit stops them
+	private final List<MoveStrategy> deepeningStrategies = new ArrayList<>();
+	private boolean passed = true;
+
+	public SearchCheck() {
+		this.strategies.add(new MiniMax());
+		this.strategies.add(new ABPrune());
+		final MoveStrategy serial = new ModifiedABPrune();
+		this.strategies.add(serial);
+		this.limitedStrategies.add(serial);
+		for (final MoveStrategy strategy : new MoveStrategy[] {
+				new IterativeDeepening(new TranspositionTable(), SearchRequest.NO_LIMIT, 1),
+				new IterativeDeepening(new TranspositionTable(), SearchRequest.NO_LIMIT, 2),
+				new YoungBrothersWait(new TranspositionTable(), SearchRequest.NO_LIMIT, 2, 3),
+				new RootSplitSearch(new TranspositionTable(), 2),
+				new RootSplitSearch(new TranspositionTable(), RootSplitSearch.VIRTUAL_THREADS)}) {
+			this.strategies.add(strategy);
+			this.limitedStrategies.add(strategy);
+			this.deepeningStrategies.add(strategy);
+		}
+	}
+
+	public boolean run() {
+		checkLegalMoves();
+		checkBestMove("mate in one", MATE_IN_ONE, MATE_IN_ONE_MOVE);
+		checkBackRank();
+		checkBestMove("serial and parallel agree", HANGING_QUEEN, HANGING_QUEEN_MOVE);
+		checkNodeLimit();
+		checkCancellation();
+		checkRootRanking();
+		System.out.println(this.passed ? "all search checks pass" : "SEARCH CHECKS FAILED");
+		return this.passed;
+	}
+
+	public void close() {
+		for (final MoveStrategy strategy : this.strategies) {
+			if (strategy instanceof YoungBrothersWait) {
+				((YoungBrothersWait) strategy).close();
+			} else if (strategy instanceof RootSplitSearch) {
+				((RootSplitSearch) strategy).close();
+			}
+		}
+	}
+
+	private void checkLegalMoves() {
+		for (final MoveStrategy strategy : this.strategies) {
+			String failure = null;
+			for (final PerftPosition position : PerftPosition.values()) {
+				final SearchResult result = search(strategy, position.getFen(), SearchRequest.ofDepth(FIXED_DEPTH - 1));
+				if (!isLegal(position.getFen(), result)) {
+					failure = position + " gave " + result.getBestMove();
+					break;
+				}
+			}
+			report("legal moves", strategy, failure == null, failure);
+		}
+	}
+
+	private void checkBestMove(final String name, final String fen, final String expectedMove) {
+		for (final MoveStrategy strategy : this.strategies) {
+			final SearchResult result = search(strategy, fen, SearchRequest.ofDepth(FIXED_DEPTH));
+			report(name, strategy, expectedMove.equals(moveOf(result)), "expected " + expectedMove + ", got " + result);
+		}
+	}
+
+	// mated scores are hugely negative for white, so a positive score also rules out any other losing move
+	private void checkBackRank() {
+		for (final MoveStrategy strategy : this.strategies) {
+			final SearchResult result = search(strategy, BACK_RANK, SearchRequest.ofDepth(FIXED_DEPTH));
+			report("avoids mate at depth " + FIXED_DEPTH, strategy, isSafe(result), "got " + result);
+		}
+		for (final MoveStrategy strategy : this.deepeningStrategies) {
+			final SearchResult result = search(strategy, BACK_RANK, new SearchRequest.Builder().setTimeLimit(TIME_LIMIT_MILLIS).build());
+			report("avoids mate in " + TIME_LIMIT_MILLIS + " ms", strategy, isSafe(result), "got " + result);
+		}
+	}
+
+	private void checkNodeLimit() {
+		for (final MoveStrategy strategy : this.limitedStrategies) {
+			final String fen = PerftPosition.KIWIPETE.getFen();
+			final SearchResult result = search(strategy, fen, new SearchRequest.Builder().setMaxNodes(NODE_LIMIT).build());
+			report("stops at " + NODE_LIMIT + " nodes", strategy, isLegal(fen, result) && result.getNodes() <= NODE_LIMIT + NODE_LIMIT_SLACK,
+					"searched " + result.getNodes() + " nodes for " + result.getBestMove());
+		}
+	}
+
+	private void checkCancellation() {
+		for (final MoveStrategy strategy : this.limitedStrategies) {
+			final String fen = PerftPosition.KIWIPETE.getFen();
+			final CancellationToken token = new CancellationToken();
+			final CompletableFuture<SearchResult> future = strategy.search(FenUtil.createBoard(fen),
+					new SearchRequest.Builder().setCancellationToken(token).build());
+			String failure = null;
+			try {
+				Thread.sleep(CANCEL_AFTER_MILLIS);
+				token.cancel();
+				final SearchResult result = future.get(CANCEL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (!isLegal(fen, result)) {
+					failure = "gave " + result.getBestMove();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (Exception e) {
+				failure = "did not stop within " + CANCEL_TIMEOUT_MILLIS + " ms: " + e;
+			}
+			report("stops when cancelled", strategy, failure == null, failure);
+		}
+	}
+
+	// every move is ranked at the same depth and the first one is an exact score no other exact score beats
+	private void checkRootRanking() {
+		for (final MoveStrategy strategy : this.strategies) {
+			if (!(strategy instanceof RootSplitSearch)) {
+				continue;
+			}
+			final List<RootMoveScore> scores = ((RootSplitSearch) strategy).analyze(FenUtil.createBoard(BACK_RANK),
+					new SearchRequest.Builder().setMaxDepth(FIXED_DEPTH + 1).setTimeLimit(TIME_LIMIT_MILLIS).build());
+			boolean isCorrect = !scores.isEmpty() && scores.get(0).isExact() && scores.get(0).getScore() > 0;
+			for (final RootMoveScore score : scores) {
+				isCorrect &= score.getDepth() == scores.get(0).getDepth() && (!score.isExact() || score.getScore() <= scores.get(0).getScore());
+			}
+			report("ranks root moves", strategy, isCorrect, "got " + scores);
+		}
+	}
+
+	private static SearchResult search(final MoveStrategy strategy, final String fen, final SearchRequest request) {
+		return strategy.search(FenUtil.createBoard(fen), request).join();
+	}
+
+	private static boolean isLegal(final String fen, final SearchResult result) {
+		if (result.getBestMove() == null) {
+			return false;
+		}
+		final SearchBoard board = new SearchBoard(FenUtil.createBoard(fen));
+		final MoveList moves = new MoveList();
+		board.generateLegalMoves(moves);
+		return moves.contains(CompactMove.of(result.getBestMove()));
+	}
+
+	private static boolean isSafe(final SearchResult result) {
+		final String move = moveOf(result);
+		for (final String matedMove : BACK_RANK_MATED_MOVES) {
+			if (matedMove.equals(move)) {
+				return false;
+			}
+		}
+		return result.getScore() > 0;
+	}
+
+	private static String moveOf(final SearchResult result) {
+		return result.getBestMove() == null ? "none" : CompactMove.toString(CompactMove.of(result.getBestMove()));
+	}
+
+	private void report(final String name, final MoveStrategy strategy, final boolean isCorrect, final String failure) {
+		System.out.println(String.format("%-26s %-42s %s", name, strategy, isCorrect ? "ok" : "FAILED, " + failure));
+		this.passed &= isCorrect;
+	}
+
+	public static void main(final String[] args) {
+		final SearchCheck check = new SearchCheck();
+		final boolean passed;
+		try {
+			passed = check.run();
+		} finally {
+			check.close();
+		}
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+
+}
@@ -0,0 +1,12 @@
+package chess.engine.player.ai;
+
+public interface SearchListener {
+	
+	SearchListener NONE = new SearchListener() {};
+	
+	// called from the search thread; the statistics of the result keep counting until the search completes
+	default void onDepthCompleted(final SearchResult result) {}
+	
+	default void onSearchCompleted(final SearchResult result) {}
+	
+}
@@ -0,0 +1,162 @@
+package chess.engine.player.ai;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public final class SearchRequest {
+
+	public static final int DEFAULT_MAX_DEPTH = 64;
+	public static final long NO_LIMIT = Long.MAX_VALUE;
+
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	private final int maxDepth;
+	private final long maxNodes;
+	private final long timeLimitMillis;
+	private final long deadline;
+	private final CancellationToken cancellationToken;
+	private final SearchListener listener;
+	private final boolean isNullMovePruning;
+	private final boolean isLateMoveReductions;
+
+	private SearchRequest(final Builder b) {
+		this.maxDepth = b.maxDepth;
+		this.maxNodes = b.maxNodes;
+		this.timeLimitMillis = b.timeLimitMillis;
+		this.deadline = b.deadline;
+		this.cancellationToken = b.cancellationToken != null ? b.cancellationToken : new CancellationToken();
+		this.listener = b.listener != null ? b.listener : SearchListener.NONE;
+		this.isNullMovePruning = b.isNullMovePruning;
+		this.isLateMoveReductions = b.isLateMoveReductions;
+	}
+
+	public static SearchRequest ofDepth(final int depth) {
+		return new Builder().setMaxDepth(depth).build();
+	}
+
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+
+	public long getMaxNodes() {
+		return this.maxNodes;
+	}
+
+	public long getTimeLimitMillis() {
+		return this.timeLimitMillis;
+	}
+
+	public CancellationToken getCancellationToken() {
+		return this.cancellationToken;
+	}
+
+	public SearchListener getListener() {
+		return this.listener;
+	}
+
+	public boolean isNullMovePruning() {
+		return this.isNullMovePruning;
+	}
+
+	public boolean isLateMoveReductions() {
+		return this.isLateMoveReductions;
+	}
+
+	public void cancel() {
+		this.cancellationToken.cancel();
+	}
+
+	public boolean isCancelled() {
+		return this.cancellationToken.isCancelled();
+	}
+
+	// the earlier of the absolute deadline and the time limit counted from startTime, both in System.nanoTime terms
+	public long getDeadline(final long startTime) {
+		final long timeLimitDeadline = this.timeLimitMillis == NO_LIMIT ? NO_LIMIT : startTime + this.timeLimitMillis * NANOS_PER_MILLI;
+		return Math.min(this.deadline, timeLimitDeadline);
+	}
+
+	// runs the search on its own daemon thread; cancelling the future cancels the request
+	public CompletableFuture<SearchResult> start(final Supplier<SearchResult> search) {
+		final CompletableFuture<SearchResult> future = new CompletableFuture<>();
+		future.whenComplete((result, throwable) -> {
+			if (future.isCancelled()) {
+				cancel();
+			}
+		});
+		final Thread thread = new Thread(() -> {
+			try {
+				future.complete(search.get());
+			} catch (Throwable e) {
+				// errors too, a caller waiting on the future would otherwise never hear of them
+				future.completeExceptionally(e);
+			}
+		}, "search");
+		thread.setDaemon(true);
+		thread.start();
+		return future;
+	}
+
+	public static class Builder {
+
+		int maxDepth = DEFAULT_MAX_DEPTH;
+		long maxNodes = NO_LIMIT;
+		long timeLimitMillis = NO_LIMIT;
+		long deadline = NO_LIMIT;
+		CancellationToken cancellationToken;
+		SearchListener listener;
+		boolean isNullMovePruning = true;
+		boolean isLateMoveReductions = true;
+
+		public Builder() {}
+
+		public Builder setMaxDepth(final int maxDepth) {
+			this.maxDepth = maxDepth;
+			return this;
+		}
+
+		public Builder setMaxNodes(final long maxNodes) {
+			this.maxNodes = maxNodes;
+			return this;
+		}
+
+		public Builder setTimeLimit(final long millis) {
+			this.timeLimitMillis = millis;
+			return this;
+		}
+
+		public Builder setDeadline(final long deadline) {
+			this.deadline = deadline;
+			return this;
+		}
+
+		public Builder setCancellationToken(final CancellationToken token) {
+			this.cancellationToken = token;
+			return this;
+		}
+
+		public Builder setListener(final SearchListener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		public Builder setNullMovePruning(final boolean isEnabled) {
+			this.isNullMovePruning = isEnabled;
+			return this;
+		}
+
+		public Builder setLateMoveReductions(final boolean isEnabled) {
+			this.isLateMoveReductions = isEnabled;
+			return this;
+		}
+
+		public SearchRequest build() {
+			if (this.maxDepth <= 0) {
+				throw new RuntimeException("search depth must be positive: " + this.maxDepth);
+			}
+			return new SearchRequest(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,69 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Move;
+import chess.engine.board.MoveList;
+
+public final class SearchResult {
+
+	private final Move bestMove;
+	private final double score;
+	private final int depth;
+	private final long nodes;
+	private final long timeMillis;
+	private final SearchStatistics statistics;
+	private final MoveList principalVariation;
+
+	public SearchResult(final Move bestMove, final double score, final int depth, final SearchStatistics statistics) {
+		this(bestMove, score, depth, statistics, new MoveList(0));
+	}
+
+	public SearchResult(final Move bestMove, final double score, final int depth, final SearchStatistics statistics,
+						final MoveList principalVariation) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = statistics.getNodes();
+		this.timeMillis = statistics.getTimeMillis();
+		this.statistics = statistics;
+		this.principalVariation = new MoveList(principalVariation.size());
+		for (int i = 0; i < principalVariation.size(); i++) {
+			this.principalVariation.add(principalVariation.get(i));
+		}
+	}
+
+	public Move getBestMove() {
+		return this.bestMove;
+	}
+
+	public double getScore() {
+		return this.score;
+	}
+
+	public int getDepth() {
+		return this.depth;
+	}
+
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	public long getTimeMillis() {
+		return this.timeMillis;
+	}
+
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	// the expected line of play in compact moves, starting with the best move
+	public MoveList getPrincipalVariation() {
+		return this.principalVariation;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s score %.2f depth %d nodes %d time %d ms pv %s", this.bestMove, this.score, this.depth, this.nodes,
+				this.timeMillis, this.principalVariation);
+	}
+
+}
@@ -0,0 +1,193 @@
+package chess.engine.player.ai;
+
+public final class SearchStatistics {
+
+	private static final int MAX_DEPTH = 128;
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	// counters are bumped directly by the searches in this package
+	long nodes;
+	long quiescenceNodes;
+	long betaCutoffs;
+	long firstMoveCutoffs;
+	long nullMoveCutoffs;
+	long reductions;
+	long reSearches;
+	long pvReSearches;
+	long aspirationFailures;
+
+	private final long[] depthNodes = new long[MAX_DEPTH + 1];
+	private final long[] depthNanos = new long[MAX_DEPTH + 1];
+	private int completedDepth;
+	private long startTime;
+	private long depthStartTime;
+	private long depthStartNodes;
+	private long elapsedNanos;
+	private long hashProbes;
+	private long hashHits;
+	private int hashFill;
+
+	public SearchStatistics() {
+		start();
+	}
+
+	void start() {
+		this.startTime = System.nanoTime();
+		this.depthStartTime = this.startTime;
+	}
+
+	void completeDepth(final int depth) {
+		final long now = System.nanoTime();
+		final long totalNodes = getNodes();
+		if (depth <= MAX_DEPTH) {
+			this.depthNodes[depth] = totalNodes - this.depthStartNodes;
+			this.depthNanos[depth] = now - this.depthStartTime;
+		}
+		this.completedDepth = depth;
+		this.depthStartNodes = totalNodes;
+		this.depthStartTime = now;
+		this.elapsedNanos = now - this.startTime;
+	}
+
+	// folds in the counters of another thread searching the same position
+	void add(final SearchStatistics other) {
+		this.nodes += other.nodes;
+		this.quiescenceNodes += other.quiescenceNodes;
+		this.betaCutoffs += other.betaCutoffs;
+		this.firstMoveCutoffs += other.firstMoveCutoffs;
+		this.nullMoveCutoffs += other.nullMoveCutoffs;
+		this.reductions += other.reductions;
+		this.reSearches += other.reSearches;
+		this.pvReSearches += other.pvReSearches;
+		this.aspirationFailures += other.aspirationFailures;
+	}
+
+	// moves the counters into another instance, as workers do when their share of an iteration is collected
+	void drainTo(final SearchStatistics other) {
+		other.add(this);
+		this.nodes = 0;
+		this.quiescenceNodes = 0;
+		this.betaCutoffs = 0;
+		this.firstMoveCutoffs = 0;
+		this.nullMoveCutoffs = 0;
+		this.reductions = 0;
+		this.reSearches = 0;
+		this.pvReSearches = 0;
+		this.aspirationFailures = 0;
+	}
+
+	void finish(final TranspositionTable table) {
+		this.elapsedNanos = System.nanoTime() - this.startTime;
+		if (table != null) {
+			this.hashProbes = table.getProbes();
+			this.hashHits = table.getHits();
+			this.hashFill = table.getFill();
+		}
+	}
+
+	public long getNodes() {
+		return this.nodes + this.quiescenceNodes;
+	}
+
+	public long getQuiescenceNodes() {
+		return this.quiescenceNodes;
+	}
+
+	public long getTimeMillis() {
+		return this.elapsedNanos / NANOS_PER_MILLI;
+	}
+
+	public long getNodesPerSecond() {
+		return this.elapsedNanos == 0 ? 0 : (long) (getNodes() * 1e9 / this.elapsedNanos);
+	}
+
+	public long getBetaCutoffs() {
+		return this.betaCutoffs;
+	}
+
+	public long getFirstMoveCutoffs() {
+		return this.firstMoveCutoffs;
+	}
+
+	public long getNullMoveCutoffs() {
+		return this.nullMoveCutoffs;
+	}
+
+	public long getReductions() {
+		return this.reductions;
+	}
+
+	public long getReSearches() {
+		return this.reSearches;
+	}
+
+	public long getPvReSearches() {
+		return this.pvReSearches;
+	}
+
+	public long getAspirationFailures() {
+		return this.aspirationFailures;
+	}
+
+	public double getFirstMoveCutoffRate() {
+		return this.betaCutoffs == 0 ? 0.0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+	}
+
+	public int getCompletedDepth() {
+		return this.completedDepth;
+	}
+
+	public long getDepthNodes(final int depth) {
+		return depth > 0 && depth <= Math.min(this.completedDepth, MAX_DEPTH) ? this.depthNodes[depth] : 0;
+	}
+
+	public long getDepthTimeMillis(final int depth) {
+		return depth > 0 && depth <= Math.min(this.completedDepth, MAX_DEPTH) ? this.depthNanos[depth] / NANOS_PER_MILLI : 0;
+	}
+
+	// node growth between the last two iterations, or the depth-th root of the node count for a single fixed-depth search
+	public double getEffectiveBranchingFactor() {
+		if (this.completedDepth == 0) {
+			return 0.0;
+		}
+		final long previous = getDepthNodes(this.completedDepth - 1);
+		return previous == 0 ? Math.pow(getDepthNodes(this.completedDepth), 1.0 / this.completedDepth) :
+							   (double) getDepthNodes(this.completedDepth) / previous;
+	}
+
+	public long getHashProbes() {
+		return this.hashProbes;
+	}
+
+	public long getHashHits() {
+		return this.hashHits;
+	}
+
+	public double getHashHitRate() {
+		return this.hashProbes == 0 ? 0.0 : (double) this.hashHits / this.hashProbes;
+	}
+
+	// permille of the table written by this search
+	public int getHashFill() {
+		return this.hashFill;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(String.format(
+				"nodes %d (quiescence %d) in %d ms, %d nodes/s, cutoffs %d (%.1f%% first move), branching %.2f, hash hits %.1f%% (%.1f%% full)," +
+				" null move cutoffs %d, reductions %d (%d re-searched), zero-window re-searches %d, aspiration failures %d",
+				getNodes(), this.quiescenceNodes, getTimeMillis(), getNodesPerSecond(), this.betaCutoffs,
+				getFirstMoveCutoffRate() * 100, getEffectiveBranchingFactor(), getHashHitRate() * 100, this.hashFill / 10.0,
+				this.nullMoveCutoffs, this.reductions, this.reSearches, this.pvReSearches,
+				this.aspirationFailures));
+		for (int depth = 1; depth <= Math.min(this.completedDepth, MAX_DEPTH); depth++) {
+			if (this.depthNodes[depth] == 0) {
+				continue;
+			}
+			sb.append(String.format("%n  depth %d: %d nodes, %d ms", depth, this.depthNodes[depth], this.depthNanos[depth] / NANOS_PER_MILLI));
+		}
+		return sb.toString();
+	}
+
+}
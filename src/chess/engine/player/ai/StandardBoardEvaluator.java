@@ -1,13 +1,15 @@
 package chess.engine.player.ai;
 
+import static chess.engine.board.BitBoardUtil.*;
 import static chess.engine.board.BoardUtil.*;
 import chess.engine.PlayerColor;
+import chess.engine.board.BitBoardPosition;
 import chess.engine.board.Board;
+import chess.engine.board.LeaperAttacks;
+import chess.engine.board.MagicBitBoards;
 import chess.engine.board.Move;
-import chess.engine.pieces.Pawn;
-import chess.engine.pieces.Piece;
+import chess.engine.board.SearchBoard;
 import chess.engine.pieces.PieceType;
-import chess.engine.pieces.Queen;
 import chess.engine.player.Player;
 
 public final class StandardBoardEvaluator implements BoardEvaluator {
@@ -28,33 +30,43 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 		}
 		return scorePlayer(board, board.getWhitePlayer(), depth) - scorePlayer(board, board.getBlackPlayer(), depth);
 	}
+	
+	@Override
+	public double evaluate(final SearchBoard board, final int depth) {
+		final boolean isInCheck = board.isInCheck();
+		final boolean hasLegalMoves = board.hasLegalMoves();
+		if (!isInCheck && !hasLegalMoves) {
+			return 0;
+		}
+		final boolean isInCheckmate = isInCheck && !hasLegalMoves;
+		return scoreColor(board, PlayerColor.WHITE, depth, isInCheckmate) - scoreColor(board, PlayerColor.BLACK, depth, isInCheckmate);
+	}
 
 	private double scorePlayer(Board board, Player player, int depth) {
-		return pieceValue(player) + mobility(player) + pawnSpace(player) + development(player) + pawnStructure(player) + check(player) + checkmate(player, depth);
+		final PlayerColor color = player.getColor();
+		return pieceValue(board, color) + mobility(player) + pawnSpace(board, color) + development(board, color) + pawnStructure(board, color) + check(player) + checkmate(player, depth);
+	}
+	
+	private double scoreColor(SearchBoard board, PlayerColor color, int depth, boolean isInCheckmate) {
+		final PlayerColor opponent = color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+		final double check = board.isInCheck(opponent) ? CHECK_BONUS : 0.0;
+		final double checkmate = isInCheckmate && board.getColorToMove() == opponent ? CHECKMATE_BONUS * (depth + 1) : 0.0;
+		return pieceValue(board, color) + mobility(board, color) + pawnSpace(board, color) + development(board, color) + pawnStructure(board, color) + check + checkmate;
 	}
 	
-	private static double pieceValue(final Player player) {
+	private static double pieceValue(final BitBoardPosition board, final PlayerColor color) {
 		double pieceValueScore = 0;
-		for (final Piece piece : player.getPieces()) {
-			pieceValueScore += piece.getPieceType().getValue();
+		for (final PieceType type : PIECE_TYPES) {
+			pieceValueScore += Long.bitCount(board.getPieceBitBoard(color, type)) * type.getValue();
 		}
 		return pieceValueScore;
 	}
 	
-	private static double pawnSpace (final Player player) {
+	private static double pawnSpace(final BitBoardPosition board, final PlayerColor color) {
 		double result = 0.0;
-		if (player.getColor() == PlayerColor.WHITE) {
-			for (final Piece piece : player.getPieces()) {
-				if (piece.getPieceType() == PieceType.PAWN) {
-					result += (BOARD_RANKS - 1 - rankOf(piece.getCoordinate())) * PAWN_SPACE_BONUS;
-				}
-			}
-		} else {
-			for (final Piece piece : player.getPieces()) {
-				if (piece.getPieceType() == PieceType.PAWN) {
-					result += (rankOf(piece.getCoordinate())) * PAWN_SPACE_BONUS;
-				}
-			}
+		for (int rank = 0; rank < BOARD_RANKS; rank++) {
+			final int pawns = Long.bitCount(board.getPieceBitBoard(color, PieceType.PAWN) & RANK_MASKS[rank]);
+			result += pawns * (color == PlayerColor.WHITE ? BOARD_RANKS - 1 - rank : rank) * PAWN_SPACE_BONUS;
 		}
 		return result;
 	}
@@ -69,37 +81,67 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 		return total * MOBILITY_BONUS;
 	}
 	
-	private static double development(Player player) {
-		double total = 0;
-		for (final Piece piece : player.getPieces()) {
-			if ((piece.getPieceType() == PieceType.KNIGHT || piece.getPieceType() == PieceType.BISHOP)) {
-				if (rankOf(piece.getCoordinate()) > 0 && rankOf(piece.getCoordinate()) < BOARD_RANKS - 1) {
-					total += DEVELOPMENT_BONUS;
-				}
-				if (rankOf(piece.getCoordinate()) > 1 && rankOf(piece.getCoordinate()) < BOARD_RANKS - 2) {
-					total += DEVELOPMENT_BONUS;
-				}
-				if (fileOf(piece.getCoordinate()) > 0 && fileOf(piece.getCoordinate()) < BOARD_RANKS - 1) {
-					total += DEVELOPMENT_BONUS;
-				}
-			}
+	private static double mobility(final SearchBoard board, final PlayerColor color) {
+		final long own = board.getColorBitBoard(color);
+		final long occupied = board.getOccupiedBitBoard();
+		double total = pawnMoveCount(board, color) / PieceType.PAWN.getValue();
+		for (long knights = board.getPieceBitBoard(color, PieceType.KNIGHT); knights != EMPTY_BITBOARD; knights = clearLowest(knights)) {
+			total += Long.bitCount(LeaperAttacks.KNIGHT_ATTACKS[lowestSquare(knights)] & ~own) / PieceType.KNIGHT.getValue();
+		}
+		for (long bishops = board.getPieceBitBoard(color, PieceType.BISHOP); bishops != EMPTY_BITBOARD; bishops = clearLowest(bishops)) {
+			total += Long.bitCount(MagicBitBoards.bishopAttacks(lowestSquare(bishops), occupied) & ~own) / PieceType.BISHOP.getValue();
+		}
+		for (long rooks = board.getPieceBitBoard(color, PieceType.ROOK); rooks != EMPTY_BITBOARD; rooks = clearLowest(rooks)) {
+			total += Long.bitCount(MagicBitBoards.rookAttacks(lowestSquare(rooks), occupied) & ~own) / PieceType.ROOK.getValue();
 		}
-		return total;
+		for (long kings = board.getPieceBitBoard(color, PieceType.KING); kings != EMPTY_BITBOARD; kings = clearLowest(kings)) {
+			total += Long.bitCount(LeaperAttacks.KING_ATTACKS[lowestSquare(kings)] & ~own) / PieceType.KING.getValue();
+		}
+		total += board.countCastlingMoves(color) / PieceType.KING.getValue();
+		return total * MOBILITY_BONUS;
 	}
 	
-	private static double pawnStructure(final Player player) {
-		byte pawnScores[] = new byte[BOARD_FILES];
-		for (final Piece piece : player.getPieces()) {
-			if (piece.getPieceType() == PieceType.PAWN) {
-				pawnScores[fileOf(piece.getCoordinate())] += 1;
+	private static int pawnMoveCount(final SearchBoard board, final PlayerColor color) {
+		final PlayerColor opponent = color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
+		final long empty = ~board.getOccupiedBitBoard();
+		final long enemy = board.getColorBitBoard(opponent);
+		final int enPassantSquare = board.getColorToMove() == color ? board.getEnPassantSquare() : SearchBoard.NO_SQUARE;
+		int count = 0;
+		for (long pawns = board.getPieceBitBoard(color, PieceType.PAWN); pawns != EMPTY_BITBOARD; pawns = clearLowest(pawns)) {
+			final int square = lowestSquare(pawns);
+			final int promotionMultiplier = color.isPromotionAllowed(square + color.getDirection() * BOARD_FILES) ? 4 : 1;
+			if ((LeaperAttacks.pawnPushes(color, square) & empty) != EMPTY_BITBOARD) {
+				count += promotionMultiplier;
+				if ((LeaperAttacks.pawnDoublePushes(color, square) & empty) != EMPTY_BITBOARD) {
+					count++;
+				}
+			}
+			final long attacks = LeaperAttacks.pawnAttacks(color, square);
+			count += Long.bitCount(attacks & enemy) * promotionMultiplier;
+			if (enPassantSquare != SearchBoard.NO_SQUARE && isSet(attacks, enPassantSquare)) {
+				count++;
 			}
 		}
+		return count;
+	}
+	
+	private static double development(final BitBoardPosition board, final PlayerColor color) {
+		final long minorPieces = board.getPieceBitBoard(color, PieceType.KNIGHT) | board.getPieceBitBoard(color, PieceType.BISHOP);
+		final long innerRanks = ~(RANK_MASKS[0] | RANK_MASKS[BOARD_RANKS - 1]);
+		final long centerRanks = innerRanks & ~(RANK_MASKS[1] | RANK_MASKS[BOARD_RANKS - 2]);
+		final long innerFiles = ~(FILE_MASKS[0] | FILE_MASKS[BOARD_FILES - 1]);
+		return (Long.bitCount(minorPieces & innerRanks) + 
+				Long.bitCount(minorPieces & centerRanks) + 
+				Long.bitCount(minorPieces & innerFiles)) * DEVELOPMENT_BONUS;
+	}
+	
+	private static double pawnStructure(final BitBoardPosition board, final PlayerColor color) {
+		final long pawns = board.getPieceBitBoard(color, PieceType.PAWN);
 		double total = 0.0;
-			for (int i = 0; i < BOARD_FILES - 1; i++) {
-				total += pawnScores[i] * pawnScores[i+1];
-			}
+		for (int i = 0; i < BOARD_FILES - 1; i++) {
+			total += Long.bitCount(pawns & FILE_MASKS[i]) * Long.bitCount(pawns & FILE_MASKS[i + 1]);
+		}
 		return total * PAWN_STRUCTURE_BONUS;
-		
 	}
 	
 	private static double check(final Player player) {
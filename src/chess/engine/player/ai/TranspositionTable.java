@@ -0,0 +1,190 @@
+package chess.engine.player.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import chess.engine.board.CompactMove;
+
+public final class TranspositionTable {
+
+	public static final int DEFAULT_MEGABYTES = 16;
+
+	public static final int NO_BOUND = 0;
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	// each entry is three longs: key ^ data ^ score, data, score bits
+	private static final int ENTRY_LONGS = 3;
+	private static final int BUCKET_ENTRIES = 2;
+	private static final int BYTES_PER_ENTRY = ENTRY_LONGS * Long.BYTES;
+	private static final int FILL_SAMPLE = 1000;
+
+	// data layout: move in bits 0-20, depth 21-28, bound 29-30, generation 32-39
+	private static final int MOVE_MASK = (1 << 21) - 1;
+	private static final int DEPTH_SHIFT = 21;
+	private static final int DEPTH_MASK = 0xFF;
+	private static final int BOUND_SHIFT = 29;
+	private static final int BOUND_MASK = 0x3;
+	private static final int GENERATION_SHIFT = 32;
+	private static final int GENERATION_MASK = 0xFF;
+
+	private final long[] entries;
+	private final long bucketMask;
+	private volatile int generation;
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+
+	public TranspositionTable() {
+		this(DEFAULT_MEGABYTES);
+	}
+
+	public TranspositionTable(final int megabytes) {
+		if (megabytes <= 0) {
+			throw new RuntimeException("transposition table size must be positive: " + megabytes);
+		}
+		final long requestedEntries = (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY;
+		final long buckets = Long.highestOneBit(Math.max(requestedEntries / BUCKET_ENTRIES, 1));
+		this.entries = new long[(int) (buckets * BUCKET_ENTRIES * ENTRY_LONGS)];
+		this.bucketMask = buckets - 1;
+	}
+
+	public static final class Entry {
+
+		private int move;
+		private int depth;
+		private int bound;
+		private double score;
+
+		public int getMove() {
+			return this.move;
+		}
+
+		public int getDepth() {
+			return this.depth;
+		}
+
+		public int getBound() {
+			return this.bound;
+		}
+
+		public double getScore() {
+			return this.score;
+		}
+
+	}
+
+	public boolean probe(final long key, final Entry entry) {
+		this.probes.increment();
+		final int bucket = bucketIndex(key);
+		for (int i = 0; i < BUCKET_ENTRIES; i++) {
+			final int index = bucket + i * ENTRY_LONGS;
+			final long data = this.entries[index + 1];
+			final long score = this.entries[index + 2];
+			// a torn or foreign entry fails the xor check and reads as a miss
+			if ((this.entries[index] ^ data ^ score) == key && data != 0) {
+				entry.move = (int) data & MOVE_MASK;
+				entry.depth = depthOf(data);
+				entry.bound = (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+				entry.score = Double.longBitsToDouble(score);
+				this.hits.increment();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void store(final long key, final int move, final int depth, final int bound, final double score) {
+		final int bucket = bucketIndex(key);
+		final int currentGeneration = this.generation;
+		int replaced = bucket;
+		int replacedValue = Integer.MAX_VALUE;
+		for (int i = 0; i < BUCKET_ENTRIES; i++) {
+			final int index = bucket + i * ENTRY_LONGS;
+			final long data = this.entries[index + 1];
+			if ((this.entries[index] ^ data ^ this.entries[index + 2]) == key) {
+				replaced = index;
+				break;
+			}
+			// prefer empty slots, then stale generations, then the shallowest entry
+			final int value = data == 0 ? -1 : (generationOf(data) == currentGeneration ? DEPTH_MASK + 1 : 0) + depthOf(data);
+			if (value < replacedValue) {
+				replacedValue = value;
+				replaced = index;
+			}
+		}
+		final long oldData = this.entries[replaced + 1];
+		int storedMove = move;
+		if ((this.entries[replaced] ^ oldData ^ this.entries[replaced + 2]) == key) {
+			if (depth < depthOf(oldData) && bound != EXACT && generationOf(oldData) == currentGeneration) {
+				return;
+			}
+			if (storedMove == CompactMove.NULL_MOVE) {
+				storedMove = (int) oldData & MOVE_MASK;
+			}
+		}
+		final long data = (storedMove & MOVE_MASK) |
+						  ((long) Math.min(Math.max(depth, 0), DEPTH_MASK) << DEPTH_SHIFT) |
+						  ((long) bound << BOUND_SHIFT) |
+						  ((long) currentGeneration << GENERATION_SHIFT);
+		final long scoreBits = Double.doubleToRawLongBits(score);
+		this.entries[replaced] = key ^ data ^ scoreBits;
+		this.entries[replaced + 1] = data;
+		this.entries[replaced + 2] = scoreBits;
+	}
+
+	public void newSearch() {
+		this.generation = (this.generation + 1) & GENERATION_MASK;
+		this.probes.reset();
+		this.hits.reset();
+	}
+
+	public void clear() {
+		Arrays.fill(this.entries, 0L);
+		newSearch();
+	}
+
+	public int getCapacity() {
+		return this.entries.length / ENTRY_LONGS;
+	}
+
+	public long getProbes() {
+		return this.probes.sum();
+	}
+
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	public double getHitRate() {
+		final long probeCount = getProbes();
+		return probeCount == 0 ? 0.0 : (double) getHits() / probeCount;
+	}
+
+	// permille of a sample of entries written during the current search
+	public int getFill() {
+		final int sample = Math.min(FILL_SAMPLE, getCapacity());
+		int used = 0;
+		for (int i = 0; i < sample; i++) {
+			final long data = this.entries[i * ENTRY_LONGS + 1];
+			if (data != 0 && generationOf(data) == this.generation) {
+				used++;
+			}
+		}
+		return used * 1000 / sample;
+	}
+
+	private int bucketIndex(final long key) {
+		return (int) (key & this.bucketMask) * BUCKET_ENTRIES * ENTRY_LONGS;
+	}
+
+	private static int depthOf(final long data) {
+		return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+	}
+
+	private static int generationOf(final long data) {
+		return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+	}
+
+}
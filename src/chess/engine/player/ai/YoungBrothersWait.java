@@ -0,0 +1,355 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import chess.engine.PlayerColor;
+import chess.engine.board.Board;
+import chess.engine.board.CompactMove;
+import chess.engine.board.Move;
+import chess.engine.board.MoveList;
+import chess.engine.board.SearchBoard;
+
+public class YoungBrothersWait implements MoveStrategy, AutoCloseable {
+
+	public static final int DEFAULT_SPLIT_DEPTH = 4;
+
+	private final BoardEvaluator evaluator = new StandardBoardEvaluator();
+	private final TranspositionTable table;
+	private final ForkJoinPool pool;
+	private final long timeBudgetMillis;
+	private final int splitDepth;
+
+	public YoungBrothersWait() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public YoungBrothersWait(final int threads) {
+		this(new TranspositionTable(), IterativeDeepening.DEFAULT_TIME_BUDGET_MILLIS, threads, DEFAULT_SPLIT_DEPTH);
+	}
+
+	// nodes with at least splitDepth plies left are split across the pool, shallower subtrees are searched serially
+	public YoungBrothersWait(final TranspositionTable table, final long timeBudgetMillis, final int threads, final int splitDepth) {
+		if (threads < 1) {
+			throw new RuntimeException("search needs at least one thread: " + threads);
+		}
+		if (splitDepth < 1) {
+			throw new RuntimeException("split depth must be positive: " + splitDepth);
+		}
+		this.table = table;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.pool = new ForkJoinPool(threads);
+		this.splitDepth = splitDepth;
+	}
+
+	public int getThreads() {
+		return this.pool.getParallelism();
+	}
+
+	public int getSplitDepth() {
+		return this.splitDepth;
+	}
+
+	// lets the pool threads finish the search in progress and exit; the strategy cannot search afterwards
+	@Override
+	public void close() {
+		this.pool.shutdown();
+	}
+
+	@Override
+	public String toString() {
+		return "Young Brothers Wait (" + getThreads() + " threads)";
+	}
+
+	@Override
+	public Move execute(final Board board, final int depth) {
+		return run(board, new SearchRequest.Builder().setMaxDepth(depth).setTimeLimit(this.timeBudgetMillis).build()).getBestMove();
+	}
+
+	@Override
+	public CompletableFuture<SearchResult> search(final Board board, final SearchRequest request) {
+		return request.start(() -> run(board, request));
+	}
+
+	// iterative deepening with every iteration from the split depth on searched in parallel
+	public SearchResult run(final Board board, final SearchRequest request) {
+		final long startTime = System.nanoTime();
+		final long deadline = request.getDeadline(startTime);
+		this.table.newSearch();
+		final SearchBoard root = new SearchBoard(board);
+		final Workers workers = new Workers(this.evaluator, this.table, request, deadline, this.splitDepth);
+		final AlphaBetaSearch rootSearch = workers.acquire(root);
+		final SearchStatistics statistics = new SearchStatistics();
+		final boolean isMaximizingPlayer = root.getColorToMove() == PlayerColor.WHITE;
+		final MoveList rootMoves = new MoveList();
+		root.generateLegalMoves(rootMoves);
+		MovePicker.orderMoves(root, rootMoves, rootSearch.probeHashMove());
+		if (rootMoves.isEmpty()) {
+			statistics.finish(this.table);
+			final SearchResult result = new SearchResult(null, this.evaluator.evaluate(root, 0), 0, statistics);
+			request.getListener().onSearchCompleted(result);
+			return result;
+		}
+		final DeepeningDriver driver = new DeepeningDriver(board, request, deadline, rootMoves, statistics);
+		driver.run((depth, previousScore, pv) -> {
+			final double score;
+			final boolean isAborted;
+			if (depth < this.splitDepth || depth == 1) {
+				// the first iteration always completes so there is a move to play
+				if (depth == 1) {
+					rootSearch.clearLimits();
+				} else {
+					rootSearch.setLimits(deadline, request.getMaxNodes(), request.getCancellationToken());
+				}
+				score = rootSearch.searchRoot(rootMoves, depth, -Double.MAX_VALUE, Double.MAX_VALUE, isMaximizingPlayer);
+				isAborted = rootSearch.isAborted();
+				rootSearch.getPrincipalVariation(pv);
+			} else {
+				final SplitTask task = new SplitTask(workers, new SearchBoard(root), depth, 0, -Double.MAX_VALUE, Double.MAX_VALUE,
+						isMaximizingPlayer, Double.NaN, new CancellationToken(request.getCancellationToken()));
+				score = this.pool.invoke(task);
+				isAborted = task.isAborted;
+				pv.clear();
+				pv.add(task.bestMove);
+			}
+			workers.collect(statistics);
+			return isAborted ? Double.NaN : score;
+		});
+		return driver.finish(this.table);
+	}
+
+	// serial searches handed out to tasks; a task blocked in a join may run another task on the same thread, so each
+	// task takes its own search for as long as it runs
+	private static final class Workers {
+
+		private final BoardEvaluator evaluator;
+		private final TranspositionTable table;
+		private final SearchRequest request;
+		private final long deadline;
+		private final int splitDepth;
+		private final ConcurrentLinkedQueue<AlphaBetaSearch> idle = new ConcurrentLinkedQueue<>();
+		private final ConcurrentLinkedQueue<AlphaBetaSearch> all = new ConcurrentLinkedQueue<>();
+		// every worker counts into this total, so the request's node limit stops the search as a whole
+		private final AtomicLong nodes = new AtomicLong();
+
+		Workers(final BoardEvaluator evaluator, final TranspositionTable table, final SearchRequest request, final long deadline,
+				final int splitDepth) {
+			this.evaluator = evaluator;
+			this.table = table;
+			this.request = request;
+			this.deadline = deadline;
+			this.splitDepth = splitDepth;
+		}
+
+		AlphaBetaSearch acquire(final SearchBoard position) {
+			AlphaBetaSearch search = this.idle.poll();
+			if (search == null) {
+				search = new AlphaBetaSearch(new SearchBoard(position), this.evaluator, this.table);
+				search.setSelectivity(this.request.isNullMovePruning(), this.request.isLateMoveReductions());
+				search.setSharedNodes(this.nodes);
+				this.all.add(search);
+			} else {
+				search.getBoard().copyFrom(position);
+			}
+			return search;
+		}
+
+		void release(final AlphaBetaSearch search) {
+			this.idle.add(search);
+		}
+
+		// only called between iterations, when no task is running
+		void collect(final SearchStatistics statistics) {
+			for (final AlphaBetaSearch search : this.all) {
+				search.getStatistics().drainTo(statistics);
+			}
+		}
+
+	}
+
+	private static final class SplitTask extends RecursiveTask<Double> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Workers workers;
+		private final SearchBoard position;
+		private final int depth;
+		// plies taken off a late brother's depth, which it has to confirm at full depth before it may refute its parent
+		private final int reduction;
+		private final double a;
+		private final double b;
+		private final boolean isMaximizingPlayer;
+		// the score beyond which this move refutes its parent and the brothers still running can stop
+		private final double cutoffBound;
+		// cancelled when any brother, or this node's own ancestors, make the result irrelevant
+		private final CancellationToken token;
+		private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+		private int bestMove;
+		private boolean isAborted;
+		private boolean isCutoff;
+
+		SplitTask(final Workers workers, final SearchBoard position, final int depth, final int reduction, final double a, final double b,
+				  final boolean isMaximizingPlayer, final double cutoffBound, final CancellationToken token) {
+			this.workers = workers;
+			this.position = position;
+			this.depth = depth;
+			this.reduction = reduction;
+			this.a = a;
+			this.b = b;
+			this.isMaximizingPlayer = isMaximizingPlayer;
+			this.cutoffBound = cutoffBound;
+			this.token = token;
+		}
+
+		@Override
+		protected Double compute() {
+			final AlphaBetaSearch search = this.workers.acquire(this.position);
+			try {
+				double score = split(search, this.depth - this.reduction, this.a, this.b, this.isMaximizingPlayer, this.token, true);
+				if (this.reduction > 0 && !this.isAborted && (this.isMaximizingPlayer ? score < this.b : score > this.a)) {
+					search.getStatistics().reSearches++;
+					score = split(search, this.depth, this.a, this.b, this.isMaximizingPlayer, this.token, true);
+				}
+				if (!this.isAborted && (this.isMaximizingPlayer ? score <= this.cutoffBound : score >= this.cutoffBound)) {
+					this.isCutoff = true;
+					this.token.cancel();
+				}
+				return score;
+			} finally {
+				this.workers.release(search);
+			}
+		}
+
+		private double split(final AlphaBetaSearch search, final int depth, double a, double b, final boolean isMaximizingPlayer,
+							 final CancellationToken token, final boolean isTop) {
+			if (token.isCancelled() || this.workers.nodes.get() >= this.workers.request.getMaxNodes() ||
+				(this.workers.deadline != SearchRequest.NO_LIMIT && System.nanoTime() >= this.workers.deadline)) {
+				this.isAborted = true;
+				return 0;
+			}
+			final SearchBoard board = search.getBoard();
+			final MoveList moves = new MoveList();
+			if (depth >= this.workers.splitDepth) {
+				board.generateLegalMoves(moves);
+			}
+			if (moves.isEmpty()) {
+				search.setLimits(this.workers.deadline, this.workers.request.getMaxNodes(), token);
+				final double score = search.search(depth, a, b, isMaximizingPlayer);
+				this.isAborted |= search.isAborted();
+				return score;
+			}
+			search.getStatistics().nodes++;
+			final long key = board.getZobristKey();
+			final boolean isPvNode = Math.nextUp(a) < b;
+			int hashMove = CompactMove.NULL_MOVE;
+			if (this.workers.table.probe(key, this.entry)) {
+				hashMove = this.entry.getMove();
+				final double score = this.entry.getScore();
+				final int bound = this.entry.getBound();
+				if (!isTop && !isPvNode && this.entry.getDepth() >= depth && (bound == TranspositionTable.EXACT ||
+					(bound == TranspositionTable.LOWER_BOUND && score >= b) || (bound == TranspositionTable.UPPER_BOUND && score <= a))) {
+					return score;
+				}
+			}
+			if (!isTop && !isPvNode) {
+				search.setLimits(this.workers.deadline, this.workers.request.getMaxNodes(), token);
+				final double score = search.probeNullMove(depth, a, b, isMaximizingPlayer);
+				if (search.isAborted()) {
+					this.isAborted = true;
+					return 0;
+				}
+				if (!Double.isNaN(score)) {
+					return score;
+				}
+			}
+			MovePicker.orderMoves(board, moves, hashMove);
+			final boolean isInCheck = board.isInCheck();
+			final double alpha = a;
+			final double beta = b;
+			// the eldest brother is searched first, on this thread, to establish a bound for the others
+			int bestMove = moves.get(0);
+			board.makeMove(bestMove);
+			double bestSeen = split(search, depth - 1, a, b, !isMaximizingPlayer, token, false);
+			board.unmakeMove();
+			if (this.isAborted) {
+				return 0;
+			}
+			if (moves.size() > 1 && (isMaximizingPlayer ? bestSeen < b : bestSeen > a)) {
+				if (isMaximizingPlayer) {
+					a = Math.max(a, bestSeen);
+				} else {
+					b = Math.min(b, bestSeen);
+				}
+				// the younger brothers only have to show they cannot beat that bound, so they get a zero window
+				final double zeroA = isMaximizingPlayer ? a : Math.nextDown(b);
+				final double zeroB = isMaximizingPlayer ? Math.nextUp(a) : b;
+				final CancellationToken splitPoint = new CancellationToken(token);
+				final List<SplitTask> brothers = new ArrayList<>(moves.size() - 1);
+				for (int i = 1; i < moves.size(); i++) {
+					final int move = moves.get(i);
+					final int reduction = search.getLateMoveReduction(move, depth, i, isInCheck);
+					final SearchBoard position = new SearchBoard(board);
+					position.makeMove(move);
+					brothers.add(new SplitTask(this.workers, position, depth - 1, reduction, zeroA, zeroB, !isMaximizingPlayer,
+							isMaximizingPlayer ? b : a, splitPoint));
+				}
+				invokeAll(brothers);
+				boolean isCutoff = false;
+				boolean isBrotherAborted = false;
+				for (final SplitTask brother : brothers) {
+					isCutoff |= brother.isCutoff;
+					isBrotherAborted |= brother.isAborted;
+				}
+				// brothers stopped by a cutoff no longer matter, any other abort means the node is incomplete
+				if (token.isCancelled() || (isBrotherAborted && !isCutoff)) {
+					this.isAborted = true;
+					return 0;
+				}
+				for (int i = 0; i < brothers.size(); i++) {
+					final SplitTask brother = brothers.get(i);
+					if (brother.isAborted) {
+						continue;
+					}
+					final int move = moves.get(i + 1);
+					double value = brother.join();
+					// failing high on its zero window only bounds the score from one side, so unless that already refutes this
+					// node the brother is searched again at full depth with the current window
+					final boolean isFailHigh = isMaximizingPlayer ? value > zeroA : value < zeroB;
+					if (isFailHigh && (isMaximizingPlayer ? value < b : value > a)) {
+						board.makeMove(move);
+						value = split(search, depth - 1, a, b, !isMaximizingPlayer, token, false);
+						board.unmakeMove();
+						if (this.isAborted) {
+							return 0;
+						}
+					}
+					if (isMaximizingPlayer ? value > bestSeen : value < bestSeen) {
+						bestSeen = value;
+						bestMove = move;
+					}
+					if (isMaximizingPlayer ? bestSeen >= b : bestSeen <= a) {
+						break;
+					}
+					if (isMaximizingPlayer) {
+						a = Math.max(a, bestSeen);
+					} else {
+						b = Math.min(b, bestSeen);
+					}
+				}
+			}
+			if (isTop) {
+				this.bestMove = bestMove;
+			}
+			this.workers.table.store(key, bestMove, depth, bestSeen <= alpha ? TranspositionTable.UPPER_BOUND :
+					bestSeen >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT, bestSeen);
+			return bestSeen;
+		}
+
+	}
+
+}
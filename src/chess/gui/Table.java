@@ -62,8 +62,9 @@ public class Table {
 	private Board chessBoard = Board.createStartingPosition();
 	private boolean isFlipped = false;
 	
-	private final MoveStrategy strat = new ModifiedABPrune();
+	private final MoveStrategy strat = new IterativeDeepening(ANALYZE_TIME_MILLIS);
 	
+	public final static long ANALYZE_TIME_MILLIS = 2500L;
 	public final static String PIECE_ICON_PATH = "file:art/pieces/";
 	public final static String DARK_TILE_COLOR = "#999999";
 	public final static String LIGHT_TILE_COLOR = "#cccccc";
@@ -144,14 +145,13 @@ public class Table {
 		analyze.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(ActionEvent event) {
-				long timeTaken = 0;
-				Move move = null;
-				for (int i = 1; i < 50 && timeTaken < 2500L; i++) {
-					long startTime = System.currentTimeMillis();
-					move = strat.execute(chessBoard, i);
-					timeTaken = System.currentTimeMillis() - startTime;
-				}
-				System.out.println(move);
+				strat.search(chessBoard, new SearchRequest.Builder().setTimeLimit(ANALYZE_TIME_MILLIS).setListener(new ConsoleSearchListener()).build())
+					 .whenComplete((result, throwable) -> {
+						 if (throwable != null) {
+							 System.err.println("analysis failed: " + throwable);
+							 throwable.printStackTrace();
+						 }
+					 });
 			}
 		});
 				
@@ -475,16 +475,16 @@ public class Table {
 									final String s = (String) o;
 									switch (s) {
 									case "Q":
-										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), new Queen(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
+										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), Piece.createPiece(PieceType.QUEEN, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
 										break;
 									case "R":
-										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), new Rook(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
+										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), Piece.createPiece(PieceType.ROOK, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
 										break;
 									case "B":
-										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), new Bishop(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
+										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), Piece.createPiece(PieceType.BISHOP, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
 										break;
 									case "N":
-										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), new Knight(move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
+										move = new PawnPromotion(((PawnPromotion) move).getPawnMove(), Piece.createPiece(PieceType.KNIGHT, move.getMovedPiece().getPieceColor(), move.getDestinationCoordinate(), false));
 										break;
 									default:
 										return;